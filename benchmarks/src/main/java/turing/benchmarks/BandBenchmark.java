@@ -0,0 +1,56 @@
+package turing.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import turing.machine.ArrayBand;
+import turing.machine.Band;
+import turing.machine.PagedBand;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BandBenchmark {
+    private static final int WRITES = 1 << 20;
+
+    @Param({"L", "P"})
+    private String move;
+
+    @Param({"false", "true"})
+    private boolean paged;
+
+    private Band band;
+    private int symbol;
+    private int direction;
+
+    @Setup
+    public void setup() {
+        band = paged ? new PagedBand() : new ArrayBand();
+        symbol = band.symbolId('a');
+        direction = Band.move(move);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(WRITES)
+    public int write() {
+        band.reset("");
+        for (int i = 0; i < WRITES; i++) {
+            band.write(symbol, direction);
+        }
+        return band.length();
+    }
+}
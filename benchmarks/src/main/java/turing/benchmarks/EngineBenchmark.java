@@ -0,0 +1,56 @@
+package turing.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import turing.machine.Engine;
+import turing.machine.Machine;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineBenchmark {
+    private static final int STEPS = 1 << 20;
+
+    @Param({"COUNTER", "MULTIPLICATION", "SWEEPER", "LARGE_SWEEPER"})
+    private Workload workload;
+
+    @Param({"TABLE", "BYTECODE", "MACRO"})
+    private Engine engine;
+
+    private Machine machine;
+
+    @Setup
+    public void setup() {
+        machine = new Machine(workload.program(), engine);
+        machine.init(workload.word());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public long run() {
+        long steps = 0;
+        while (steps < STEPS) {
+            long taken = machine.run(STEPS - steps);
+            if (taken < STEPS - steps) {
+                machine.init(workload.word());
+            }
+            steps += Math.max(1, taken);
+        }
+        return steps;
+    }
+}
@@ -0,0 +1,55 @@
+package turing.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import turing.machine.Log;
+import turing.machine.Machine;
+import turing.machine.Msg;
+import turing.machine.Transition;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LogBenchmark {
+    private Machine machine;
+    private Transition transition;
+    private Log log;
+    private long iteration;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        machine = new Machine(Workload.SWEEPER.program());
+        machine.init("a".repeat(64));
+        transition = machine.proceed();
+        log = new Log(blackhole::consume);
+    }
+
+    @Benchmark
+    public void iteration() {
+        log.iteration(++iteration, transition, machine);
+    }
+
+    @Benchmark
+    public String msgTransition() {
+        return Msg.msg(transition);
+    }
+
+    @Benchmark
+    public String msgMachine() {
+        return Msg.msg(machine);
+    }
+}
@@ -0,0 +1,69 @@
+package turing.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import turing.machine.Parser;
+import turing.machine.Settings;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+    private static final String SYMBOLS = "ab#";
+
+    @Param({"1000", "100000", "1000000"})
+    private int transitions;
+
+    private byte[] input;
+
+    @Setup
+    public void setup() {
+        int states = transitions / SYMBOLS.length() + 2;
+        var sb = new StringBuilder()
+                .append("alfabet tasmowy:\n").append(SYMBOLS).append('\n')
+                .append("alfabet wejsciowy:\nab\n")
+                .append("slowo wejsciowe:\nab\n")
+                .append("stany:\n")
+                .append(IntStream.range(0, states).mapToObj(i -> "q" + i).collect(Collectors.joining(" ")))
+                .append("\nstan poczatkowy:\nq0\n")
+                .append("stany akceptujace:\nq").append(states - 1).append('\n')
+                .append("relacja przejscia:\n");
+        for (int i = 0; i < transitions; i++) {
+            int state = i / SYMBOLS.length();
+            char symbol = SYMBOLS.charAt(i % SYMBOLS.length());
+            sb.append('q').append(state).append(' ').append(symbol).append(" q").append(state + 1).append(' ')
+                    .append(symbol).append(i % 2 == 0 ? " P" : " L").append('\n');
+        }
+        input = sb.toString().getBytes(UTF_8);
+    }
+
+    @Benchmark
+    public Settings parse() {
+        return Settings.parse(new ByteArrayInputStream(input), UTF_8);
+    }
+
+    @Benchmark
+    public Parser.Parsed parseBytes() {
+        return Parser.parse(ByteBuffer.wrap(input), UTF_8);
+    }
+}
@@ -0,0 +1,51 @@
+package turing.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import turing.machine.Machine;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProceedBenchmark {
+    private static final int STEPS = 1 << 16;
+
+    @Param({"COUNTER", "MULTIPLICATION", "SWEEPER", "LARGE_SWEEPER"})
+    private Workload workload;
+
+    private Machine machine;
+
+    @Setup
+    public void setup() {
+        machine = new Machine(workload.program());
+        machine.init(workload.word());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(STEPS)
+    public void proceed(Blackhole blackhole) {
+        for (int i = 0; i < STEPS; i++) {
+            var transition = machine.proceed();
+            if (transition == null || machine.isInFinalState()) {
+                machine.init(workload.word());
+            }
+            blackhole.consume(transition);
+        }
+    }
+}
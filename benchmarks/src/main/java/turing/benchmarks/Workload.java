@@ -0,0 +1,71 @@
+package turing.benchmarks;
+
+import turing.machine.Program;
+import turing.machine.Transition;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+public enum Workload {
+    COUNTER("R", Set.of(), "0", List.of(
+            new Transition("R", '0', "R", '0', "P"),
+            new Transition("R", '1', "R", '1', "P"),
+            new Transition("R", '#', "I", '#', "L"),
+            new Transition("I", '1', "I", '0', "L"),
+            new Transition("I", '0', "R", '1', "P"),
+            new Transition("I", '#', "R", '1', "P"))),
+    MULTIPLICATION("S", Set.of("H"), "1".repeat(12) + "*" + "1".repeat(12) + "=", List.of(
+            new Transition("S", 'X', "S", 'X', "P"),
+            new Transition("S", '1', "A", 'X', "P"),
+            new Transition("S", '*', "H", '*', "P"),
+            new Transition("A", '1', "A", '1', "P"),
+            new Transition("A", '*', "B", '*', "P"),
+            new Transition("B", 'Y', "B", 'Y', "P"),
+            new Transition("B", '1', "C", 'Y', "P"),
+            new Transition("B", '=', "E", '=', "L"),
+            new Transition("C", '1', "C", '1', "P"),
+            new Transition("C", '=', "C", '=', "P"),
+            new Transition("C", '#', "D", '1', "L"),
+            new Transition("D", '1', "D", '1', "L"),
+            new Transition("D", '=', "D", '=', "L"),
+            new Transition("D", 'Y', "B", 'Y', "P"),
+            new Transition("E", 'Y', "E", '1', "L"),
+            new Transition("E", '*', "F", '*', "L"),
+            new Transition("F", '1', "F", '1', "L"),
+            new Transition("F", 'X', "S", 'X', "P"))),
+    SWEEPER("R0", Set.of(), "a".repeat(1000), sweeper(1)),
+    LARGE_SWEEPER("R0", Set.of(), "a".repeat(1000), sweeper(128));
+
+    private final String startState;
+    private final Set<String> finalStates;
+    private final String word;
+    private final List<Transition> transitions;
+
+    Workload(String startState, Set<String> finalStates, String word, List<Transition> transitions) {
+        this.startState = startState;
+        this.finalStates = finalStates;
+        this.word = word;
+        this.transitions = transitions;
+    }
+
+    public Program program() {
+        return Program.compile(startState, finalStates, transitions);
+    }
+
+    public String word() {
+        return word;
+    }
+
+    private static List<Transition> sweeper(int width) {
+        var transitions = new ArrayList<Transition>();
+        for (int i = 0; i < width; i++) {
+            int next = (i + 1) % width;
+            transitions.add(new Transition("R" + i, 'a', "R" + next, 'a', "P"));
+            transitions.add(new Transition("R" + i, '#', "L0", '#', "L"));
+            transitions.add(new Transition("L" + i, 'a', "L" + next, 'a', "L"));
+            transitions.add(new Transition("L" + i, '#', "R0", '#', "P"));
+        }
+        return transitions;
+    }
+}
@@ -2,6 +2,7 @@ module turing.gui {
     requires javafx.base;
     requires javafx.controls;
     requires javafx.fxml;
+    requires java.xml;
     requires guru.nidi.graphviz;
     requires org.openjdk.nashorn;
     requires turing.machine;
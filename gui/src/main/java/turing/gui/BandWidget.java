@@ -17,7 +17,7 @@ import static turing.gui.Gui.initComponent;
 
 public class BandWidget extends BorderPane {
     private static final String LAYOUT = "band_widget.fxml";
-    private static final int DISPLAY_COUNT = 16;
+    static final int DISPLAY_COUNT = 16;
     private static final String EMPTY_CELL_TEXT = String.valueOf(Band.EMPTY_CHARACTER);
     private static final Background BACKGROUND_EVEN = Background.fill(Color.WHITE);
     private static final Background BACKGROUND_ODD = Background.EMPTY;
@@ -74,11 +74,19 @@ public class BandWidget extends BorderPane {
     }
 
     public void preview(String band, int head) {
-        int start = Math.min(band.length() - DISPLAY_COUNT, Math.max(0, head - DISPLAY_COUNT / 2));
+        int start = windowStart(head, band.length());
+        preview(band.substring(start, start + DISPLAY_COUNT), start, head, band.length());
+    }
+
+    public void preview(String window, int start, int head, int length) {
         updateNums(start);
-        writeCells(band.substring(start, start + DISPLAY_COUNT));
+        writeCells(window);
         selectCell(head - start);
-        label.setText("Band Size: " + band.length());
+        label.setText("Band Size: " + length);
+    }
+
+    static int windowStart(int head, int length) {
+        return Math.min(length - DISPLAY_COUNT, Math.max(0, head - DISPLAY_COUNT / 2));
     }
 
     public void clear() {
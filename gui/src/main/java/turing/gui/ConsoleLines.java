@@ -0,0 +1,104 @@
+package turing.gui;
+
+import javafx.collections.ObservableListBase;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+final class ConsoleLines extends ObservableListBase<String> {
+    private static final int INITIAL_LENGTH = 16;
+
+    private final int capacity;
+    private String[] lines;
+    private int head;
+    private int size;
+
+    ConsoleLines(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.lines = new String[Math.min(INITIAL_LENGTH, this.capacity)];
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return lines[(head + index) % lines.length];
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    void append(Collection<String> appended) {
+        if (appended.isEmpty()) {
+            return;
+        }
+        int evicted = Math.max(0, size + appended.size() - capacity);
+        var removed = new String[Math.min(evicted, size)];
+        for (int i = 0; i < removed.length; i++) {
+            removed[i] = get(i);
+        }
+        int skipped = Math.max(0, appended.size() - capacity);
+        ensureCapacity(Math.min(capacity, size + appended.size()));
+        for (var line : appended) {
+            if (skipped > 0) {
+                skipped--;
+            } else if (size < lines.length) {
+                lines[(head + size++) % lines.length] = line;
+            } else {
+                lines[head] = line;
+                head = (head + 1) % lines.length;
+            }
+        }
+        beginChange();
+        if (removed.length > 0) {
+            nextRemove(0, Arrays.asList(removed));
+        }
+        nextAdd(size - Math.min(size, appended.size()), size);
+        endChange();
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        var removed = view(lines, head, size);
+        lines = new String[Math.min(INITIAL_LENGTH, capacity)];
+        head = 0;
+        size = 0;
+        beginChange();
+        nextRemove(0, removed);
+        endChange();
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= lines.length) {
+            return;
+        }
+        var grown = new String[Math.min(capacity, Math.max(required, 2 * lines.length))];
+        for (int i = 0; i < size; i++) {
+            grown[i] = get(i);
+        }
+        lines = grown;
+        head = 0;
+    }
+
+    private static List<String> view(String[] lines, int head, int size) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                return lines[(head + index) % lines.length];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -2,13 +2,16 @@ package turing.gui;
 
 import javafx.beans.NamedArg;
 import javafx.fxml.FXML;
-import javafx.scene.control.TextArea;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SelectionMode;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
 import javafx.scene.layout.BorderPane;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Arrays;
 
-import static java.util.stream.Collectors.joining;
 import static turing.gui.Gui.initComponent;
 import static turing.gui.Gui.runInFxApplicationThread;
 
@@ -16,27 +19,35 @@ public class ConsoleWidget extends BorderPane {
     private static final String LAYOUT = "console_widget.fxml";
 
     private final Object lock = new Object();
-    private final List<String> contentLines;
+    private final ArrayDeque<String> pendingLines = new ArrayDeque<>();
     private final int maxLines;
+    private boolean pendingClear;
     private boolean updatePending;
 
+    // access only from fx application thread
+    private final ConsoleLines contentLines;
+
     @FXML
-    private TextArea console;
+    private ListView<String> console;
 
     public ConsoleWidget(@NamedArg("maxLines") int maxLines) {
         initComponent(this, LAYOUT);
         this.maxLines = maxLines;
-        contentLines = new ArrayList<>();
+        contentLines = new ConsoleLines(maxLines);
+        console.setItems(contentLines);
+        console.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        console.setOnKeyPressed(e -> {
+            if (e.isShortcutDown() && e.getCode() == KeyCode.C) {
+                copySelection();
+            }
+        });
     }
 
     public void writeConsole(String text) {
         synchronized (lock) {
-            contentLines.addAll(text.lines().toList());
-            int size = contentLines.size();
-            if (size > maxLines) {
-                var lines = new ArrayList<>(contentLines.subList(size - maxLines, size));
-                contentLines.clear();
-                contentLines.addAll(lines);
+            text.lines().forEach(pendingLines::addLast);
+            while (pendingLines.size() > maxLines) {
+                pendingLines.pollFirst();
             }
         }
         updateUI();
@@ -44,7 +55,8 @@ public class ConsoleWidget extends BorderPane {
 
     public void clearConsole() {
         synchronized (lock) {
-            contentLines.clear();
+            pendingLines.clear();
+            pendingClear = true;
         }
         updateUI();
     }
@@ -57,13 +69,29 @@ public class ConsoleWidget extends BorderPane {
             updatePending = true;
         }
         runInFxApplicationThread(() -> {
-            String text;
+            String[] lines;
+            boolean clear;
             synchronized (lock) {
-                text = contentLines.stream().collect(joining(System.lineSeparator()));
+                lines = pendingLines.toArray(String[]::new);
+                clear = pendingClear;
+                pendingLines.clear();
+                pendingClear = false;
                 updatePending = false;
             }
-            console.setText(text);
-            console.positionCaret(text.length());
+            if (clear) {
+                console.getSelectionModel().clearSelection();
+                contentLines.clear();
+            }
+            contentLines.append(Arrays.asList(lines));
+            if (lines.length > 0) {
+                console.scrollTo(contentLines.size() - 1);
+            }
         });
     }
+
+    private void copySelection() {
+        var content = new ClipboardContent();
+        content.putString(String.join(System.lineSeparator(), console.getSelectionModel().getSelectedItems()));
+        Clipboard.getSystemClipboard().setContent(content);
+    }
 }
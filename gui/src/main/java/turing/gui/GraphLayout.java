@@ -0,0 +1,141 @@
+package turing.gui;
+
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Polyline;
+import javafx.scene.shape.SVGPath;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+final class GraphLayout {
+    private static final Pattern NUMBER = Pattern.compile("-?[\\d.]+(?:e-?\\d+)?");
+    private static final String FONT_FAMILY = "Serif";
+
+    private final Group root = new Group();
+    private final Map<String, Group> elements = new HashMap<>();
+
+    private GraphLayout() {
+    }
+
+    static GraphLayout parse(String svg) {
+        try {
+            var factory = DocumentBuilderFactory.newInstance();
+            factory.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            var document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(svg)));
+            var layout = new GraphLayout();
+            var svgElement = document.getDocumentElement();
+            double scale = numbers(svgElement.getAttribute("width"))[0]
+                    / numbers(svgElement.getAttribute("viewBox"))[2];
+            layout.root.getTransforms().add(new Scale(scale, scale));
+            layout.root.getChildren().addAll(layout.children(svgElement));
+            return layout;
+        } catch (Exception e) {
+            throw new IllegalStateException("Graph layout error", e);
+        }
+    }
+
+    Group root() {
+        return root;
+    }
+
+    Group element(String id) {
+        return elements.get(id);
+    }
+
+    private Node[] children(Element parent) {
+        var nodes = parent.getChildNodes();
+        var children = new Node[nodes.getLength()];
+        int count = 0;
+        for (int i = 0; i < nodes.getLength(); i++) {
+            if (nodes.item(i) instanceof Element element) {
+                var child = node(element);
+                if (child != null) {
+                    children[count++] = child;
+                }
+            }
+        }
+        return Arrays.copyOf(children, count);
+    }
+
+    private Node node(Element element) {
+        return switch (element.getTagName()) {
+            case "g" -> group(element);
+            case "ellipse" -> paint(new Ellipse(number(element, "cx"), number(element, "cy"),
+                    number(element, "rx"), number(element, "ry")), element);
+            case "polygon" -> paint(new Polygon(numbers(element.getAttribute("points"))), element);
+            case "polyline" -> paint(new Polyline(numbers(element.getAttribute("points"))), element);
+            case "path" -> {
+                var path = new SVGPath();
+                path.setContent(element.getAttribute("d"));
+                yield paint(path, element);
+            }
+            case "text" -> text(element);
+            default -> null;
+        };
+    }
+
+    private Group group(Element element) {
+        var group = new Group(children(element));
+        var transform = numbers(element.getAttribute("transform"));
+        if (transform.length == 5) {
+            group.getTransforms().addAll(new Scale(transform[0], transform[1]),
+                    new Translate(transform[3], transform[4]));
+        }
+        if (!element.getAttribute("id").isEmpty()) {
+            elements.put(element.getAttribute("id"), group);
+        }
+        return group;
+    }
+
+    private static Text text(Element element) {
+        var text = new Text(element.getTextContent());
+        text.setFont(Font.font(FONT_FAMILY, number(element, "font-size")));
+        text.setFill(color(element.getAttribute("fill"), Color.BLACK));
+        double width = text.getLayoutBounds().getWidth();
+        double x = number(element, "x");
+        text.setX(switch (element.getAttribute("text-anchor")) {
+            case "middle" -> x - width / 2;
+            case "end" -> x - width;
+            default -> x;
+        });
+        text.setY(number(element, "y"));
+        return text;
+    }
+
+    private static Shape paint(Shape shape, Element element) {
+        shape.setFill(color(element.getAttribute("fill"), Color.BLACK));
+        shape.setStroke(color(element.getAttribute("stroke"), null));
+        return shape;
+    }
+
+    private static Color color(String value, Color absent) {
+        return switch (value) {
+            case "" -> absent;
+            case "none", "transparent" -> null;
+            default -> Color.web(value);
+        };
+    }
+
+    private static double number(Element element, String attribute) {
+        return Double.parseDouble(element.getAttribute(attribute));
+    }
+
+    private static double[] numbers(String value) {
+        return NUMBER.matcher(value).results().mapToDouble(m -> Double.parseDouble(m.group())).toArray();
+    }
+}
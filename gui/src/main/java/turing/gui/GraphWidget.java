@@ -1,32 +1,31 @@
 package turing.gui;
 
-import guru.nidi.graphviz.attribute.Attributes;
-import guru.nidi.graphviz.attribute.ForLink;
-import guru.nidi.graphviz.attribute.ForNode;
+import guru.nidi.graphviz.engine.Format;
 import guru.nidi.graphviz.engine.Graphviz;
-import guru.nidi.graphviz.engine.Rasterizer;
-import guru.nidi.graphviz.engine.Renderer;
 import guru.nidi.graphviz.model.Link;
+import guru.nidi.graphviz.model.MutableGraph;
 import guru.nidi.graphviz.model.MutableNode;
 import javafx.fxml.FXML;
+import javafx.scene.Group;
 import javafx.scene.control.ProgressIndicator;
-import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Ellipse;
+import javafx.scene.shape.Polygon;
+import javafx.scene.shape.Shape;
+import javafx.scene.text.Text;
 import javafx.util.Pair;
 import turing.machine.Settings;
 import turing.machine.Transition;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
 
 import static guru.nidi.graphviz.attribute.Attributes.attr;
-import static guru.nidi.graphviz.attribute.Attributes.attrs;
 import static guru.nidi.graphviz.attribute.GraphAttr.pad;
 import static guru.nidi.graphviz.attribute.GraphAttr.sizeMax;
 import static guru.nidi.graphviz.attribute.Rank.RankDir.LEFT_TO_RIGHT;
@@ -35,10 +34,8 @@ import static guru.nidi.graphviz.engine.Graphviz.fromGraph;
 import static guru.nidi.graphviz.model.Factory.mutGraph;
 import static guru.nidi.graphviz.model.Factory.mutNode;
 import static java.lang.String.format;
-import static java.util.function.Function.identity;
 import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
-import static java.util.stream.Collectors.toMap;
 import static turing.gui.Gui.addOnCloseListener;
 import static turing.gui.Gui.initComponent;
 import static turing.gui.Gui.runInFxApplicationThread;
@@ -47,15 +44,8 @@ import static turing.machine.Msg.msg;
 public class GraphWidget extends StackPane {
     private static final String LAYOUT = "graph_widget.fxml";
 
-    private static final Attributes<ForLink> LINK_SELECTED_ATTRS = attrs(
-            attr("color", "#01637a"), attr("fillcolor", "#d6f7ff"), attr("fontcolor", "#01637a"));
-    private static final Attributes<ForNode> NODE_SELECTED_ATTRS = attrs(
-            attr("color", "#01637a"), attr("fillcolor", "#d6f7ff"), attr("fontcolor", "#01637a"),
-            attr("style", "filled"));
-    private static final Attributes<ForLink> LINK_CLEAR_ATTRS = attrs(
-            attr("color", null), attr("fillcolor", null), attr("fontcolor", null));
-    private static final Attributes<ForNode> NODE_CLEAR_ATTRS = attrs(
-            attr("color", null), attr("fillcolor", null), attr("fontcolor", null), attr("style", null));
+    private static final Color SELECTED_COLOR = Color.web("#01637a");
+    private static final Color SELECTED_FILL = Color.web("#d6f7ff");
 
     private static final ExecutorService renderingThread = Executors.newSingleThreadExecutor();
 
@@ -64,23 +54,17 @@ public class GraphWidget extends StackPane {
         addOnCloseListener(renderingThread::shutdownNow);
     }
 
-    private final Object lock = new Object();
-
     @FXML
-    private ImageView imageView;
+    private Group graphView;
 
     @FXML
     private ProgressIndicator progressIndicator;
 
-    // sync access from any thread
-    private boolean isRendering;
-    private Runnable renderTask;
-
-    // access only from rendering thread
-    private Map<String, MutableNode> nodeMap;
-    private Map<String, Map<String, Link>> linkMap;
-    private Runnable deselectCallback;
-    private Renderer renderer;
+    // access only from fx application thread
+    private Settings settings;
+    private Map<String, Group> nodeMap = Map.of();
+    private Map<String, Map<String, Group>> linkMap = Map.of();
+    private Group selected;
 
     public GraphWidget() {
         initComponent(this, LAYOUT);
@@ -88,139 +72,89 @@ public class GraphWidget extends StackPane {
     }
 
     public void init(Settings settings) {
-        imageView.setImage(null);
-        imageView.setVisible(false);
+        clear();
+        this.settings = settings;
         progressIndicator.setVisible(true);
-        runInRenderingThread(() -> {
-            clearInRenderingThread();
-            initGraphInRenderingThread(settings);
-            drawInRenderingThread();
-        });
+        runInRenderingThread(() -> layoutInRenderingThread(settings));
     }
 
     public void select(String state) {
-        synchronized (lock) {
-            renderTask = () -> {
-                selectNodeInRenderingThread(nodeMap.get(state));
-                drawInRenderingThread();
-            };
-        }
-        renderNext();
+        select(nodeMap.get(state));
     }
 
     public void select(Transition transition) {
-        synchronized (lock) {
-            renderTask = () -> {
-                selectEdgeInRenderingThread(linkMap.get(transition.fromState()).get(transition.toState()));
-                drawInRenderingThread();
-            };
-        }
-        renderNext();
+        select(linkMap.getOrDefault(transition.fromState(), Map.of()).get(transition.toState()));
     }
 
     public void clear() {
-        runInRenderingThread(this::clearInRenderingThread);
-        imageView.setImage(null);
-        imageView.setVisible(false);
+        settings = null;
+        nodeMap = Map.of();
+        linkMap = Map.of();
+        selected = null;
+        graphView.getChildren().clear();
         progressIndicator.setVisible(false);
     }
 
-    private void clearInRenderingThread() {
-        deselectInRenderingThread();
-        nodeMap = null;
-        linkMap = null;
-        renderer = null;
-    }
-
-    private void renderNext() {
-        var task = nextTask();
-        if (task == null) {
-            return;
+    private void select(Group element) {
+        if (selected != null) {
+            paint(selected, Color.BLACK, null);
         }
-        runInRenderingThread(wrapRenderTask(task));
-    }
-
-    private Runnable wrapRenderTask(Runnable task) {
-        return () -> {
-            synchronized (lock) {
-                isRendering = true;
-            }
-            task.run();
-            synchronized (lock) {
-                isRendering = false;
-            }
-            renderNext();
-        };
-    }
-
-    private Runnable nextTask() {
-        Runnable nextTask = null;
-        synchronized (lock) {
-            if (!isRendering) {
-                nextTask = renderTask;
-                renderTask = null;
-            }
+        selected = element;
+        if (selected != null) {
+            paint(selected, SELECTED_COLOR, SELECTED_FILL);
         }
-        return nextTask;
     }
 
-    private void selectNodeInRenderingThread(MutableNode node) {
-        deselectInRenderingThread();
-        node.add(NODE_SELECTED_ATTRS);
-        deselectCallback = () -> node.add(NODE_CLEAR_ATTRS);
-    }
-
-    private void selectEdgeInRenderingThread(Link link) {
-        deselectInRenderingThread();
-        link.attrs().add(LINK_SELECTED_ATTRS);
-        deselectCallback = () -> link.attrs().add(LINK_CLEAR_ATTRS);
-    }
-
-    private void deselectInRenderingThread() {
-        if (deselectCallback != null) {
-            deselectCallback.run();
-            deselectCallback = null;
+    private void layoutInRenderingThread(Settings settings) {
+        var stateIds = new HashMap<String, String>();
+        var nodes = new HashMap<String, MutableNode>();
+        for (var state : settings.states()) {
+            var id = "state" + stateIds.size();
+            stateIds.put(state, id);
+            nodes.put(state, mutNode(state).add(
+                    attr("shape", settings.finalStates().contains(state) ? "doublecircle" : "circle"),
+                    attr("id", id)));
         }
-    }
-
-    private void initGraphInRenderingThread(Settings settings) {
-        var nodeMap = settings.states().stream()
-                .collect(toMap(identity(), s -> mutNode(s).add(
-                        attr("shape", settings.finalStates().contains(s) ? "doublecircle" : "circle"))));
-        var linkMap = settings.transitions().stream()
+        var linkIds = new HashMap<Pair<String, String>, String>();
+        settings.transitions().stream()
                 .collect(groupingBy(t -> new Pair<>(t.fromState(), t.toState())))
-                .entrySet().stream()
-                .collect(groupingBy(e -> e.getKey().getKey(),
-                        toMap(e -> e.getKey().getValue(), e -> nodeMap.get(e.getKey().getKey()).addLink(
-                                        Link.to(nodeMap.get(e.getKey().getValue()))
-                                                .add(attr("label", e.getValue().stream()
-                                                        .map(GraphWidget::edgeLabel).collect(joining("\n")))))
-                                .links().getLast())));
+                .forEach((key, transitions) -> {
+                    var id = "link" + linkIds.size();
+                    linkIds.put(key, id);
+                    nodes.get(key.getKey()).addLink(Link.to(nodes.get(key.getValue()))
+                            .add(attr("label", transitions.stream().map(GraphWidget::edgeLabel).collect(joining("\n"))))
+                            .add(attr("id", id)));
+                });
         var graph = mutGraph().setDirected(true)
                 .graphAttrs().add(pad(0.1), dir(LEFT_TO_RIGHT), sizeMax(484, 360))
                 .add(mutNode("#")
                         .add(attr("shape", "point"), attr("label", ""))
-                        .addLink(Link.to(nodeMap.get(settings.startState()))))
-                .add(new ArrayList<>(nodeMap.values()));
-        this.nodeMap = nodeMap;
-        this.linkMap = linkMap;
-        renderer = fromGraph(graph).width((int) getMaxWidth()).rasterize(Rasterizer.SALAMANDER);
-    }
-
-    private void drawInRenderingThread() {
-        var image = renderImageInRenderingThread();
+                        .addLink(Link.to(nodes.get(settings.startState()))))
+                .add(new ArrayList<>(nodes.values()));
+        var layout = layoutInRenderingThread(graph);
+        var nodeMap = new HashMap<String, Group>();
+        var linkMap = new HashMap<String, Map<String, Group>>();
+        if (layout != null) {
+            stateIds.forEach((state, id) -> nodeMap.put(state, layout.element(id)));
+            linkIds.forEach((key, id) -> linkMap.computeIfAbsent(key.getKey(), k -> new HashMap<>())
+                    .put(key.getValue(), layout.element(id)));
+        }
         runInFxApplicationThread(() -> {
+            if (this.settings != settings) {
+                return;
+            }
             progressIndicator.setVisible(false);
-            imageView.setVisible(true);
-            imageView.setImage(image);
+            if (layout != null) {
+                this.nodeMap = nodeMap;
+                this.linkMap = linkMap;
+                graphView.getChildren().setAll(layout.root());
+            }
         });
     }
 
-    private Image renderImageInRenderingThread() {
+    private GraphLayout layoutInRenderingThread(MutableGraph graph) {
         try {
-            var outputStream = new ByteArrayOutputStream(1 << 15);
-            renderer.toOutputStream(outputStream);
-            return new Image(new ByteArrayInputStream(outputStream.toByteArray()));
+            return GraphLayout.parse(fromGraph(graph).width((int) getMaxWidth()).render(Format.SVG).toString());
         } catch (Throwable e) {
             return null;
         }
@@ -234,6 +168,23 @@ public class GraphWidget extends StackPane {
         }
     }
 
+    private static void paint(Group element, Color color, Color fill) {
+        boolean filled = false;
+        for (var child : element.getChildren()) {
+            if (child instanceof Text text) {
+                text.setFill(color);
+            } else if (child instanceof Shape shape) {
+                shape.setStroke(color);
+                if (shape instanceof Polygon) {
+                    shape.setFill(color);
+                } else if (shape instanceof Ellipse && !filled) {
+                    shape.setFill(fill);
+                    filled = true;
+                }
+            }
+        }
+    }
+
     private static String edgeLabel(Transition t) {
         return format("(%s, %s, %s)", t.readChar(), t.writeChar(), t.moveDir());
     }
@@ -1,27 +1,41 @@
 package turing.gui;
 
+import javafx.animation.AnimationTimer;
 import javafx.fxml.FXML;
 import javafx.scene.control.SplitPane;
+import turing.machine.Image;
+import turing.machine.Journal;
 import turing.machine.Log;
 import turing.machine.Machine;
+import turing.machine.Outcome;
+import turing.machine.Program;
 import turing.machine.Settings;
+import turing.machine.Transition;
 
 import java.io.PrintWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongUnaryOperator;
 
+import static turing.gui.Gui.addOnCloseListener;
 import static turing.gui.Gui.initComponent;
 import static turing.gui.Gui.runInBackgroundThread;
 import static turing.gui.Gui.runInFxApplicationThread;
 import static turing.gui.Gui.scheduleInBackgroundThread;
-import static turing.machine.Cmd.REPORT_ITERATIONS_UNTIL;
+import static turing.machine.Cmd.DEFAULT_LOG_POLICY;
 import static turing.machine.Msg.msg;
 
 public class MainScreen extends SplitPane {
     private static final String LAYOUT = "main_screen.fxml";
 
     private final Log log;
+    private volatile Program program;
+    private volatile Journal journal;
+    private volatile String word;
+    private volatile long runLength;
+    private volatile TurboRun turboRun;
 
     @FXML
     private SettingsWidget settingsWidget;
@@ -36,7 +50,11 @@ public class MainScreen extends SplitPane {
         initComponent(this, LAYOUT);
         settingsWidget.setLoadListener(this::readSettings);
         settingsWidget.setExecuteListener(this::execute);
+        settingsWidget.setStopListener(this::stopTurbo);
+        previewWidget.setStepBackListener(() -> navigate(steps -> steps - 1));
+        previewWidget.setGoToListener(iteration -> navigate(steps -> iteration));
         previewWidget.setDisable(true);
+        addOnCloseListener(this::close);
         log = new Log(consoleWidget::writeConsole);
     }
 
@@ -48,8 +66,10 @@ public class MainScreen extends SplitPane {
         consoleWidget.clearConsole();
         runInBackgroundThread(() -> {
             try {
-                var settings = Settings.parse(Path.of(inputFile), Charset.forName(charset));
-                settings.validate();
+                var parsed = Image.load(Path.of(inputFile), Charset.forName(charset), Image.DEFAULT_CACHE,
+                        consoleWidget::writeConsole);
+                var settings = parsed.settings();
+                program = parsed.program();
                 log.settings(settings);
                 runInFxApplicationThread(() -> {
                     settingsWidget.setSettings(settings);
@@ -68,19 +88,25 @@ public class MainScreen extends SplitPane {
     }
 
     private void execute() {
+        if (settingsWidget.isTurbo()) {
+            executeTurbo();
+            return;
+        }
         var settings = settingsWidget.getSettings();
+        var program = this.program;
         var delay = settingsWidget.getDelay();
         var outputDir = settingsWidget.getOutputDir();
         var outputFilename = settingsWidget.getOutputFilename();
 
         settingsWidget.preventExecution(true);
         previewWidget.setDisable(false);
+        previewWidget.navigable(false);
         consoleWidget.clearConsole();
 
         runInBackgroundThread(new Runnable() {
             private PrintWriter fileWriter;
             private Machine machine;
-            private int iteration = 0;
+            private long iteration = 0;
             private long start;
 
             @Override
@@ -91,8 +117,11 @@ public class MainScreen extends SplitPane {
                     log.addAppender(fileWriter::print);
                     log.settings(settings);
                     start = System.currentTimeMillis();
-                    machine = new Machine(settings.startState(), settings.finalStates(), settings.transitions());
-                    machine.init(settings.word());
+                    closeJournal();
+                    journal = new Journal(new Machine(program));
+                    word = settings.word();
+                    journal.init(word);
+                    machine = journal.machine();
                     log.initialized(machine);
                     runInFxApplicationThread(() -> previewWidget.update(iteration, machine));
                     scheduleInBackgroundThread(safeWrap(this::applyTransition), delay);
@@ -102,19 +131,21 @@ public class MainScreen extends SplitPane {
             }
 
             private void applyTransition() {
-                var transition = machine.proceed();
+                var transition = journal.proceed();
                 if (transition == null) {
                     exitLoop();
                 } else {
                     iteration++;
-                    log.iteration(iteration, transition, machine);
+                    if (DEFAULT_LOG_POLICY.logs(iteration)) {
+                        log.iteration(iteration, transition, machine);
+                    }
                     runInFxApplicationThread(() -> previewWidget.update(transition));
                     scheduleInBackgroundThread(safeWrap(this::showState), delay);
                 }
             }
 
             private void showState() {
-                if (iteration == REPORT_ITERATIONS_UNTIL) {
+                if (iteration == DEFAULT_LOG_POLICY.until()) {
                     runInFxApplicationThread(() -> previewWidget.abandoned(iteration));
                     log.abandoned(iteration);
                     log.clearAppender();
@@ -129,10 +160,14 @@ public class MainScreen extends SplitPane {
             }
 
             private void exitLoop() {
+                runLength = iteration;
                 long time = System.currentTimeMillis() - start;
                 log.result(machine, settings.word(), iteration, time);
                 boolean accepted = machine.isInFinalState();
-                runInFxApplicationThread(() -> previewWidget.result(iteration, accepted));
+                runInFxApplicationThread(() -> {
+                    previewWidget.result(iteration, accepted);
+                    previewWidget.navigable(true);
+                });
                 doFinally();
             }
 
@@ -158,4 +193,205 @@ public class MainScreen extends SplitPane {
             }
         });
     }
+
+    private void executeTurbo() {
+        var settings = settingsWidget.getSettings();
+        var outputPath = Path.of(settingsWidget.getOutputDir()).resolve(settingsWidget.getOutputFilename());
+
+        settingsWidget.preventExecution(true);
+        settingsWidget.allowStop(true);
+        previewWidget.setDisable(false);
+        previewWidget.navigable(false);
+        consoleWidget.clearConsole();
+
+        turboRun = new TurboRun(settings, program, outputPath);
+        turboRun.start();
+    }
+
+    private void stopTurbo() {
+        var turboRun = this.turboRun;
+        if (turboRun != null) {
+            turboRun.cancel();
+        }
+    }
+
+    private final class TurboRun extends AnimationTimer implements Runnable {
+        private static final int SAMPLE_MASK = (1 << 10) - 1;
+        private static final long RATE_INTERVAL = 500_000_000L;
+
+        private final Settings settings;
+        private final Program program;
+        private final Path outputPath;
+        private final AtomicReference<PreviewWidget.Snapshot> snapshot = new AtomicReference<>();
+        private volatile boolean requested = true;
+        private volatile boolean cancelled;
+        private PrintWriter fileWriter;
+        private Thread thread;
+
+        // access only from fx application thread
+        private long rateTime;
+        private long rateIteration;
+        private long stepsPerSecond;
+
+        private TurboRun(Settings settings, Program program, Path outputPath) {
+            this.settings = settings;
+            this.program = program;
+            this.outputPath = outputPath;
+        }
+
+        @Override
+        public void start() {
+            rateTime = System.nanoTime();
+            super.start();
+            thread = Thread.ofVirtual().name("turbo-run").start(this);
+        }
+
+        private void cancel() {
+            cancelled = true;
+        }
+
+        private void join() {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void handle(long now) {
+            var snapshot = this.snapshot.getAndSet(null);
+            requested = true;
+            if (snapshot != null) {
+                show(snapshot, now);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                fileWriter = new PrintWriter(Files.newOutputStream(outputPath), true);
+                log.addAppender(fileWriter::print);
+                log.settings(settings);
+                long start = System.currentTimeMillis();
+                closeJournal();
+                journal = new Journal(new Machine(program));
+                word = settings.word();
+                journal.init(word);
+                var machine = journal.machine();
+                log.initialized(machine);
+                long iteration = 0;
+                boolean stopped = false;
+                while (!machine.isInFinalState()) {
+                    var transition = journal.proceed();
+                    if (transition == null) {
+                        break;
+                    }
+                    iteration++;
+                    if (iteration <= DEFAULT_LOG_POLICY.until()) {
+                        log(iteration, transition, machine);
+                    }
+                    if ((iteration & SAMPLE_MASK) == 0) {
+                        if (cancelled) {
+                            stopped = true;
+                            break;
+                        }
+                        if (requested) {
+                            requested = false;
+                            snapshot.set(PreviewWidget.Snapshot.of(iteration, machine));
+                        }
+                    }
+                }
+                runLength = iteration;
+                long time = System.currentTimeMillis() - start;
+                var outcome = stopped ? Outcome.CANCELLED
+                        : machine.isInFinalState() ? Outcome.ACCEPTED : Outcome.REJECTED;
+                log.result(machine, outcome, settings.word(), iteration, time);
+                var last = PreviewWidget.Snapshot.of(iteration, machine);
+                runInFxApplicationThread(() -> {
+                    stop();
+                    show(last, System.nanoTime());
+                    if (outcome == Outcome.CANCELLED) {
+                        previewWidget.stopped(last.iteration());
+                    } else {
+                        previewWidget.result(last.iteration(), outcome == Outcome.ACCEPTED);
+                    }
+                    previewWidget.navigable(true);
+                });
+            } catch (Exception e) {
+                runInFxApplicationThread(this::stop);
+                consoleWidget.writeConsole(msg(e));
+            }
+            log.setAppender(consoleWidget::writeConsole);
+            if (fileWriter != null) {
+                fileWriter.close();
+            }
+            runInFxApplicationThread(() -> {
+                settingsWidget.allowStop(false);
+                settingsWidget.preventExecution(false);
+            });
+        }
+
+        private void log(long iteration, Transition transition, Machine machine) {
+            if (DEFAULT_LOG_POLICY.logs(iteration)) {
+                log.iteration(iteration, transition, machine);
+            }
+            if (iteration == DEFAULT_LOG_POLICY.until()) {
+                log.abandoned(iteration);
+                log.clearAppender();
+                fileWriter.close();
+            }
+        }
+
+        private void show(PreviewWidget.Snapshot snapshot, long now) {
+            if (now - rateTime >= RATE_INTERVAL) {
+                stepsPerSecond = (long) ((snapshot.iteration() - rateIteration) * 1e9 / (now - rateTime));
+                rateTime = now;
+                rateIteration = snapshot.iteration();
+            }
+            previewWidget.update(snapshot, stepsPerSecond);
+        }
+    }
+
+    private void navigate(LongUnaryOperator target) {
+        previewWidget.navigable(false);
+        settingsWidget.preventExecution(true);
+        runInBackgroundThread(() -> {
+            try {
+                var machine = journal.machine();
+                long iteration = Math.min(runLength, Math.max(0, target.applyAsLong(journal.steps())));
+                if (iteration < journal.steps() && !journal.backTo(iteration)) {
+                    journal.init(word);
+                }
+                while (journal.steps() < iteration && !machine.isInFinalState()) {
+                    if (journal.proceed() == null) {
+                        break;
+                    }
+                }
+                long steps = journal.steps();
+                runInFxApplicationThread(() -> previewWidget.update(steps, machine));
+            } catch (Exception e) {
+                consoleWidget.writeConsole(msg(e));
+            }
+            runInFxApplicationThread(() -> {
+                previewWidget.navigable(true);
+                settingsWidget.preventExecution(false);
+            });
+        });
+    }
+
+    private void close() {
+        var turboRun = this.turboRun;
+        if (turboRun != null) {
+            turboRun.cancel();
+            turboRun.join();
+        }
+        closeJournal();
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
 }
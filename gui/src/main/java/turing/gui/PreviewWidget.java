@@ -1,18 +1,34 @@
 package turing.gui;
 
 import javafx.fxml.FXML;
+import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.BorderPane;
 import turing.machine.Machine;
 import turing.machine.Settings;
 import turing.machine.Transition;
 
+import java.util.function.LongConsumer;
+
 import static java.lang.String.format;
 import static turing.gui.Gui.initComponent;
+import static turing.gui.Gui.regexFormatter;
 
 public class PreviewWidget extends BorderPane {
     private static final String LAYOUT = "preview_widget.fxml";
 
+    public record Snapshot(long iteration, String state, String window, int start, int head, int length) {
+        public static Snapshot of(long iteration, Machine machine) {
+            var band = machine.band();
+            int head = band.headPos();
+            int length = band.length();
+            int start = BandWidget.windowStart(head, length);
+            var window = band.bandStr(start, start + BandWidget.DISPLAY_COUNT);
+            return new Snapshot(iteration, machine.state(), window, start, head, length);
+        }
+    }
+
     @FXML
     private BandWidget bandWidget;
 
@@ -22,8 +38,35 @@ public class PreviewWidget extends BorderPane {
     @FXML
     private Label statusLabel;
 
+    @FXML
+    private Button stepBackButton;
+
+    @FXML
+    private TextField stepField;
+
+    @FXML
+    private Button goToButton;
+
     public PreviewWidget() {
         initComponent(this, LAYOUT);
+        stepField.setTextFormatter(regexFormatter("^\\d*$"));
+        stepField.textProperty().addListener(e -> updateGoToButton());
+        navigable(false);
+    }
+
+    public void setStepBackListener(Runnable stepBackListener) {
+        stepBackButton.setOnAction(stepBackListener == null ? null : e -> stepBackListener.run());
+    }
+
+    public void setGoToListener(LongConsumer goToListener) {
+        goToButton.setOnAction(goToListener == null ? null
+                : e -> goToListener.accept(Long.parseLong(stepField.getText())));
+    }
+
+    public void navigable(boolean navigable) {
+        stepBackButton.setDisable(!navigable);
+        stepField.setDisable(!navigable);
+        updateGoToButton();
     }
 
     public void init(Settings settings) {
@@ -32,7 +75,7 @@ public class PreviewWidget extends BorderPane {
         statusLabel.setText("Settings Valid");
     }
 
-    public void update(int iteration, Machine machine) {
+    public void update(long iteration, Machine machine) {
         // state is volatile - read first for machine object synchronization.
         var state = machine.state();
         var bandStr = machine.band().bandStr();
@@ -43,17 +86,27 @@ public class PreviewWidget extends BorderPane {
         statusLabel.setText(statusText);
     }
 
+    public void update(Snapshot snapshot, long stepsPerSecond) {
+        graphWidget.select(snapshot.state());
+        bandWidget.preview(snapshot.window(), snapshot.start(), snapshot.head(), snapshot.length());
+        statusLabel.setText(format("Iteration %d (%d steps/s)", snapshot.iteration(), stepsPerSecond));
+    }
+
     public void update(Transition transition) {
         graphWidget.select(transition);
     }
 
-    public void result(int iteration, boolean accepted) {
+    public void result(long iteration, boolean accepted) {
         var statusText = format("Finished in %s State after %d iterations",
                 accepted ? "Accepting" : "Non-Accepting", iteration);
         statusLabel.setText(statusText);
     }
 
-    public void abandoned(int iteration) {
+    public void stopped(long iteration) {
+        statusLabel.setText(format("Stopped after %d iterations", iteration));
+    }
+
+    public void abandoned(long iteration) {
         var statusText = format("UI updates interrupted after %d iterations. Machine still running...", iteration);
         statusLabel.setText(statusText);
     }
@@ -63,4 +116,8 @@ public class PreviewWidget extends BorderPane {
         bandWidget.clear();
         statusLabel.setText("");
     }
+
+    private void updateGoToButton() {
+        goToButton.setDisable(stepField.isDisabled() || stepField.getText().isBlank());
+    }
 }
@@ -2,6 +2,7 @@ package turing.gui;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.GridPane;
 import javafx.stage.DirectoryChooser;
@@ -49,6 +50,12 @@ public class SettingsWidget extends GridPane {
     @FXML
     private TextField delayField;
 
+    @FXML
+    private CheckBox turboCheckBox;
+
+    @FXML
+    private Button stopButton;
+
     @FXML
     private Button executeButton;
 
@@ -68,6 +75,11 @@ public class SettingsWidget extends GridPane {
         delayField.setTextFormatter(regexFormatter("^\\d*$"));
         delayField.setText(String.valueOf(DEFAULT_DELAY));
         delayField.textProperty().addListener(e -> updateExecuteButton());
+        turboCheckBox.selectedProperty().addListener(e -> {
+            delayField.setDisable(isTurbo());
+            updateExecuteButton();
+        });
+        stopButton.setDisable(true);
         executeButton.setDisable(true);
     }
 
@@ -95,12 +107,20 @@ public class SettingsWidget extends GridPane {
         }
     }
 
+    public boolean isTurbo() {
+        return turboCheckBox.isSelected();
+    }
+
     public void preventExecution(boolean preventExecution) {
         this.preventExecution = preventExecution;
         updateLoadButton();
         updateExecuteButton();
     }
 
+    public void allowStop(boolean allowStop) {
+        stopButton.setDisable(!allowStop);
+    }
+
     public Settings getSettings() {
         return settingsView.getSettings();
     }
@@ -117,6 +137,13 @@ public class SettingsWidget extends GridPane {
         executeButton.setOnAction(executeListener == null ? null : e -> executeListener.run());
     }
 
+    public void setStopListener(Runnable stopListener) {
+        stopButton.setOnAction(stopListener == null ? null : e -> {
+            stopButton.setDisable(true);
+            stopListener.run();
+        });
+    }
+
     public void setLoadListener(Runnable loadListener) {
         loadButton.setOnAction(loadListener == null ? null : e -> loadListener.run());
     }
@@ -147,7 +174,7 @@ public class SettingsWidget extends GridPane {
 
     private void updateExecuteButton() {
         executeButton.setDisable(preventExecution || getSettings() == null || getOutputDir().isBlank()
-                || getOutputFilename().isBlank() || delayField.getText().isBlank());
+                || getOutputFilename().isBlank() || !isTurbo() && delayField.getText().isBlank());
     }
 
     private File getDir(String path) {
@@ -1,4 +1,5 @@
 module turing.machine {
     requires java.base;
+    requires jdk.jfr;
     exports turing.machine;
 }
\ No newline at end of file
@@ -0,0 +1,234 @@
+package turing.machine;
+
+import java.util.Arrays;
+
+import static java.lang.String.format;
+
+public class ArrayBand extends Band {
+    private byte[] backingArray;
+    private int origin;
+    private int headPos;
+    private int left;
+    private int right;
+    private int maxSize = MAX_SIZE;
+
+    public ArrayBand() {
+        this(new char[]{EMPTY_CHARACTER});
+    }
+
+    public ArrayBand(char[] symbols) {
+        super(symbols);
+    }
+
+    @Override
+    public void reset(String word) {
+        int bandSize = INITIAL_SIZE;
+        while (bandSize < word.length() + 2) {
+            bandSize = grownSize(bandSize, MAX_SIZE);
+        }
+        backingArray = new byte[bandSize];
+        origin = 1;
+        headPos = origin;
+        left = origin;
+        right = origin + word.length() - 1;
+        for (int i = 0; i < word.length(); i++) {
+            backingArray[origin + i] = (byte) symbolId(word.charAt(i));
+        }
+    }
+
+    @Override
+    public int readSymbol() {
+        return backingArray[headPos] & 0xFF;
+    }
+
+    @Override
+    public void write(int symbol, int move) {
+        backingArray[headPos] = (byte) symbol;
+        if (symbol != EMPTY_SYMBOL) {
+            if (headPos < left) left = headPos;
+            if (headPos > right) right = headPos;
+        }
+        if (move == MOVE_RIGHT) {
+            moveRight();
+        } else {
+            moveLeft();
+        }
+    }
+
+    @Override
+    public int symbolAt(int position) {
+        int index = origin + position;
+        return index < 0 || index >= backingArray.length ? EMPTY_SYMBOL : backingArray[index] & 0xFF;
+    }
+
+    @Override
+    long readBlock(int position, int count, int bits) {
+        int index = origin + position;
+        if (index < 0 || index + count > backingArray.length) {
+            return super.readBlock(position, count, bits);
+        }
+        long block = 0;
+        for (int i = 0; i < count; i++) {
+            block |= (long) (backingArray[index + i] & 0xFF) << i * bits;
+        }
+        return block;
+    }
+
+    @Override
+    void writeAt(int position, int symbol) {
+        ensureIndex(origin + position);
+        int index = origin + position;
+        backingArray[index] = (byte) symbol;
+        if (symbol != EMPTY_SYMBOL) {
+            if (index < left) left = index;
+            if (index > right) right = index;
+        }
+    }
+
+    @Override
+    int leftmost() {
+        return left - origin;
+    }
+
+    @Override
+    int rightmost() {
+        return right - origin;
+    }
+
+    @Override
+    void limit(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    long capacity() {
+        return backingArray.length;
+    }
+
+    @Override
+    long headroom() {
+        int distance = Math.min(headPos, backingArray.length - 1 - headPos);
+        return distance + Math.max(0L, (long) maxSize - backingArray.length);
+    }
+
+    @Override
+    boolean canMove(int move) {
+        if (backingArray.length < maxSize) {
+            return true;
+        }
+        return move == MOVE_RIGHT ? headPos < backingArray.length - 1 : headPos > 0;
+    }
+
+    @Override
+    void moveTo(int position) {
+        ensureIndex(origin + position);
+        headPos = origin + position;
+    }
+
+    @Override
+    public int headPos() {
+        return headPos;
+    }
+
+    @Override
+    public int position() {
+        return headPos - origin;
+    }
+
+    @Override
+    public String bandStr() {
+        return str(0, backingArray.length);
+    }
+
+    @Override
+    public String bandStr(int start, int end) {
+        return str(Math.max(0, start), Math.min(backingArray.length, end));
+    }
+
+    @Override
+    public int length() {
+        return backingArray.length;
+    }
+
+    @Override
+    public String currentWord() {
+        int start = left;
+        int end = right + 1;
+        while (start < end && backingArray[start] == EMPTY_SYMBOL) start++;
+        while (start < end && backingArray[end - 1] == EMPTY_SYMBOL) end--;
+        return str(start, end);
+    }
+
+    private void moveLeft() {
+        if (--headPos == -1) {
+            growLeft();
+        }
+    }
+
+    private void moveRight() {
+        if (++headPos == backingArray.length) {
+            growRight();
+        }
+    }
+
+    private void ensureIndex(int index) {
+        while (index < 0) {
+            int length = backingArray.length;
+            growLeft();
+            index += backingArray.length - length;
+        }
+        while (index >= backingArray.length) {
+            growRight();
+        }
+    }
+
+    private void growLeft() {
+        var event = new Events.BandGrowth();
+        event.begin();
+        int shift = grownSize(backingArray.length, maxSize) - backingArray.length;
+        var oldBackingArray = backingArray;
+        backingArray = new byte[oldBackingArray.length + shift];
+        System.arraycopy(oldBackingArray, 0, backingArray, shift, oldBackingArray.length);
+        grown(event, oldBackingArray.length);
+        origin += shift;
+        headPos += shift;
+        left += shift;
+        right += shift;
+    }
+
+    private void growRight() {
+        var event = new Events.BandGrowth();
+        event.begin();
+        int oldSize = backingArray.length;
+        backingArray = Arrays.copyOf(backingArray, grownSize(oldSize, maxSize));
+        grown(event, oldSize);
+    }
+
+    private void grown(Events.BandGrowth event, int oldSize) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.oldSize = oldSize;
+            event.newSize = backingArray.length;
+            event.copied = oldSize;
+            event.commit();
+        }
+    }
+
+    private String str(int start, int end) {
+        if (end <= start) {
+            return "";
+        }
+        var chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = symbol(backingArray[i] & 0xFF);
+        }
+        return String.valueOf(chars);
+    }
+
+    private static int grownSize(int size, int maxSize) {
+        if (size >= maxSize) {
+            throw new IllegalStateException(format("Band size limit exceeded. Max: %d", maxSize));
+        }
+        return (int) Math.min(maxSize, 2L * size);
+    }
+}
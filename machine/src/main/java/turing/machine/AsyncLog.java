@@ -0,0 +1,172 @@
+package turing.machine;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static java.lang.String.format;
+
+public class AsyncLog implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int PUBLISH_BATCH = 1 << 8;
+    private static final long PARK_NANOS = 50_000;
+
+    private final Program program;
+    private final Log log;
+    private final LogPolicy policy;
+    private final Machine shadow;
+    private final int[] retained;
+    private final long[] undo;
+    private final int[] ring;
+    private final int mask;
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong consumed = new AtomicLong();
+    private long head;
+    private long consumedCache;
+    private long iteration;
+    private Machine machine;
+    private volatile boolean closed;
+    private volatile Throwable error;
+    private Thread consumer;
+
+    public AsyncLog(Program program, Log log, LogPolicy policy) {
+        this(program, log, policy, DEFAULT_CAPACITY);
+    }
+
+    public AsyncLog(Program program, Log log, LogPolicy policy, int capacity) {
+        if (Integer.bitCount(capacity) != 1) {
+            throw new IllegalStateException(format("Log capacity must be a power of two: %d", capacity));
+        }
+        this.program = program;
+        this.log = log;
+        this.policy = policy;
+        this.shadow = new Machine(program);
+        this.retained = new int[policy.retained()];
+        this.undo = new long[policy.retained()];
+        this.ring = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    public Machine machine(Engine engine) {
+        return machine(engine, Tape.ARRAY);
+    }
+
+    public Machine machine(Engine engine, Tape tape) {
+        var kernel = new LoggingKernel(program, engine.kernel(program), this, policy.until(), retained.length > 0);
+        machine = new Machine(program, kernel, tape);
+        return machine;
+    }
+
+    public void start(String word) {
+        iteration = 0;
+        if (retained.length == 0) {
+            shadow.init(word);
+            consumer = Thread.ofPlatform().name("turing-log").daemon().start(this::consume);
+        }
+    }
+
+    void retain(int index, Band band, int state) {
+        int slot = (int) (iteration++ % retained.length);
+        retained[slot] = index;
+        undo[slot] = band.position() & 0xFFFFFFFFL | (long) band.readSymbol() << 32 | (long) state << 40;
+    }
+
+    void publish(int index) {
+        if (head - consumedCache == ring.length) {
+            flush();
+            while (head - (consumedCache = consumed.getAcquire()) == ring.length) {
+                checkError();
+                LockSupport.parkNanos(PARK_NANOS);
+            }
+        }
+        ring[(int) head & mask] = index;
+        if ((++head & (PUBLISH_BATCH - 1)) == 0) {
+            published.setRelease(head);
+        }
+    }
+
+    void flush() {
+        published.setRelease(head);
+    }
+
+    public void drain() {
+        flush();
+        while (consumed.getAcquire() != head && consumer.isAlive()) {
+            LockSupport.parkNanos(PARK_NANOS);
+        }
+        checkError();
+    }
+
+    @Override
+    public void close() {
+        if (retained.length > 0) {
+            logRetained();
+            return;
+        }
+        if (consumer == null) {
+            return;
+        }
+        drain();
+        closed = true;
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkError();
+    }
+
+    private void consume() {
+        try {
+            long tail = consumed.get();
+            while (true) {
+                long available = published.getAcquire();
+                if (tail == available) {
+                    if (closed) {
+                        return;
+                    }
+                    LockSupport.parkNanos(PARK_NANOS);
+                    continue;
+                }
+                while (tail < available) {
+                    consume(ring[(int) tail & mask]);
+                    consumed.setRelease(++tail);
+                }
+            }
+        } catch (Throwable e) {
+            error = e;
+        }
+    }
+
+    private void consume(int index) {
+        var transition = shadow.apply(index);
+        if (policy.logs(++iteration)) {
+            log.iteration(iteration, transition, shadow);
+        }
+    }
+
+    private void logRetained() {
+        if (iteration == 0) {
+            return;
+        }
+        long count = Math.min(iteration, retained.length);
+        var band = machine.band();
+        for (long i = iteration - 1; i >= iteration - count; i--) {
+            long entry = undo[(int) (i % retained.length)];
+            int position = (int) entry;
+            band.moveTo(position);
+            band.writeAt(position, (int) (entry >>> 32) & 0xFF);
+            machine.restore((int) (entry >>> 40));
+        }
+        for (long i = iteration - count; i < iteration; i++) {
+            var transition = machine.apply(retained[(int) (i % retained.length)]);
+            log.iteration(i + 1, transition, machine);
+        }
+        iteration = 0;
+    }
+
+    private void checkError() {
+        if (error != null) {
+            throw new IllegalStateException("Logging error", error);
+        }
+    }
+}
@@ -1,76 +1,156 @@
 package turing.machine;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Arrays;
 
-public class Band {
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+public abstract class Band {
     public static final int INITIAL_SIZE = 32;
-    public static final int EXPAND_SIZE = 16;
+    public static final int MAX_SIZE = Integer.MAX_VALUE - 8;
+    public static final int MAX_SYMBOLS = 1 << 8;
     public static final char EMPTY_CHARACTER = '#';
+    public static final int EMPTY_SYMBOL = 0;
+    public static final int MOVE_LEFT = 0;
+    public static final int MOVE_RIGHT = 1;
 
-    private char[] backingArray;
-    private int headPos;
+    private final char[] symbols = new char[MAX_SYMBOLS];
+    private int[] symbolIds = new int[0];
+    private int symbolCount;
 
-    public void reset(String word) {
-        int bandSize = INITIAL_SIZE;
-        if (bandSize < word.length() + 2) {
-            bandSize += (int) (Math.ceil((double) (word.length() + 2 - INITIAL_SIZE) / EXPAND_SIZE) * EXPAND_SIZE);
+    protected Band(char[] symbols) {
+        if (symbols.length == 0 || symbols[EMPTY_SYMBOL] != EMPTY_CHARACTER) {
+            throw new IllegalStateException(format("First band symbol must be \"%s\"", EMPTY_CHARACTER));
+        }
+        for (char symbol : symbols) {
+            symbolId(symbol);
         }
-        backingArray = new char[bandSize];
-        Arrays.fill(backingArray, EMPTY_CHARACTER);
-        System.arraycopy(word.toCharArray(), 0, backingArray, 1, word.length());
-        headPos = 1;
     }
 
+    public abstract void reset(String word);
+
+    public abstract int readSymbol();
+
+    public abstract void write(int symbol, int move);
+
+    public abstract int symbolAt(int position);
+
+    abstract void writeAt(int position, int symbol);
+
+    abstract int leftmost();
+
+    abstract int rightmost();
+
+    abstract void limit(int maxSize);
+
+    abstract long capacity();
+
+    abstract long headroom();
+
+    abstract boolean canMove(int move);
+
+    abstract void moveTo(int position);
+
+    public abstract int headPos();
+
+    public abstract int position();
+
+    public abstract String bandStr();
+
+    public abstract String bandStr(int start, int end);
+
+    public abstract int length();
+
     public char read() {
-        return backingArray[headPos];
+        return symbols[readSymbol()];
     }
 
     public void write(Character character, String move) {
-        backingArray[headPos] = character;
-        switch (move) {
-            case "L", "l" -> moveLeft();
-            case "P", "p" -> moveRight();
-            default -> throw new IllegalStateException("Invalid move direction: " + character);
-        }
+        write(symbolId(character), move(move));
     }
 
-    private void moveLeft() {
-        if (--headPos == -1) {
-            var oldBackingArray = backingArray;
-            backingArray = new char[backingArray.length + EXPAND_SIZE];
-            System.arraycopy(oldBackingArray, 0, backingArray, EXPAND_SIZE, oldBackingArray.length);
-            Arrays.fill(backingArray, 0, EXPAND_SIZE, EMPTY_CHARACTER);
-            headPos += EXPAND_SIZE;
-        }
+    public static int move(String move) {
+        return switch (move) {
+            case "L", "l" -> MOVE_LEFT;
+            case "P", "p" -> MOVE_RIGHT;
+            default -> throw new IllegalStateException("Invalid move direction: " + move);
+        };
     }
 
-    private void moveRight() {
-        if (++headPos == backingArray.length) {
-            var oldBackingArray = backingArray;
-            backingArray = new char[backingArray.length + EXPAND_SIZE];
-            System.arraycopy(oldBackingArray, 0, backingArray, 0, oldBackingArray.length);
-            Arrays.fill(backingArray, oldBackingArray.length, backingArray.length, EMPTY_CHARACTER);
+    long readBlock(int position, int count, int bits) {
+        long block = 0;
+        for (int i = 0; i < count; i++) {
+            block |= (long) symbolAt(position + i) << i * bits;
         }
+        return block;
     }
 
-    public int headPos() {
-        return headPos;
+    public final int symbolId(char character) {
+        if (character < symbolIds.length && symbolIds[character] != Program.NONE) {
+            return symbolIds[character];
+        }
+        if (symbolCount == MAX_SYMBOLS) {
+            throw new IllegalStateException(format("Too many band symbols. Max: %d", MAX_SYMBOLS));
+        }
+        if (character >= symbolIds.length) {
+            int oldLength = symbolIds.length;
+            symbolIds = Arrays.copyOf(symbolIds, Math.max(character + 1, 2 * oldLength));
+            Arrays.fill(symbolIds, oldLength, symbolIds.length, Program.NONE);
+        }
+        symbols[symbolCount] = character;
+        symbolIds[character] = symbolCount;
+        return symbolCount++;
     }
 
-    public String bandStr() {
-        return String.valueOf(backingArray);
+    public int symbolCount() {
+        return symbolCount;
     }
 
-    public int length() {
-        return backingArray.length;
+    public char symbol(int id) {
+        return symbols[id];
     }
 
     public String currentWord() {
-        int start = 0;
-        int end = backingArray.length;
-        while (start < end && backingArray[start] == EMPTY_CHARACTER) start++;
-        while (start < end && backingArray[end - 1] == EMPTY_CHARACTER) end--;
-        int length = end - start;
-        return length <= 0 ? "" : new String(backingArray, start, length);
+        int start = leftmost();
+        int end = rightmost() + 1;
+        while (start < end && symbolAt(start) == EMPTY_SYMBOL) start++;
+        while (start < end && symbolAt(end - 1) == EMPTY_SYMBOL) end--;
+        return cells(start, end);
+    }
+
+    public long writeWord(Path path) {
+        int start = leftmost();
+        int end = rightmost() + 1;
+        while (start < end && symbolAt(start) == EMPTY_SYMBOL) start++;
+        while (start < end && symbolAt(end - 1) == EMPTY_SYMBOL) end--;
+        try (var writer = new BufferedWriter(Files.newBufferedWriter(path, UTF_8), 1 << 16)) {
+            var chars = new char[1 << 16];
+            for (int position = start; position < end; ) {
+                int count = (int) Math.min(chars.length, (long) end - position);
+                for (int i = 0; i < count; i++) {
+                    chars[i] = symbols[symbolAt(position + i)];
+                }
+                writer.write(chars, 0, count);
+                position += count;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Word writing error", e);
+        }
+        return Math.max(0, (long) end - start);
+    }
+
+    String cells(int start, int end) {
+        if (end <= start) {
+            return "";
+        }
+        var chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = symbols[symbolAt(i)];
+        }
+        return String.valueOf(chars);
     }
 }
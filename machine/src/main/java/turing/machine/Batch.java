@@ -0,0 +1,94 @@
+package turing.machine;
+
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+
+public class Batch {
+    public record Job(Path input, Program program, String word) {
+    }
+
+    public record Result(Job job, Outcome outcome, long iterations, long period, String computedWord,
+                         long time) {
+    }
+
+    private final Engine engine;
+    private final Tape tape;
+    private final Limits limits;
+    private final long deciderSteps;
+    private final int parallelism;
+
+    public Batch(Engine engine, Limits limits, long deciderSteps, int parallelism) {
+        this(engine, Tape.ARRAY, limits, deciderSteps, parallelism);
+    }
+
+    public Batch(Engine engine, Tape tape, Limits limits, long deciderSteps, int parallelism) {
+        this.engine = engine;
+        this.tape = tape;
+        this.limits = limits;
+        this.deciderSteps = deciderSteps;
+        this.parallelism = parallelism;
+    }
+
+    public static List<Job> jobs(List<Path> inputs, List<String> words, Charset charset) {
+        var jobs = new ArrayList<Job>();
+        for (var input : inputs) {
+            try {
+                var parsed = Parser.parse(input, charset);
+                var settings = parsed.settings();
+                var program = parsed.program();
+                for (var word : words == null ? List.of(settings.word()) : words) {
+                    settings.withWord(word).validateWord();
+                    jobs.add(new Job(input, program, word));
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(format("Invalid input %s", input), e);
+            }
+        }
+        return jobs;
+    }
+
+    public void run(List<Job> jobs, Consumer<Result> consumer) {
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            var tasks = jobs.stream().map(job -> pool.submit(() -> execute(job))).toList();
+            for (var task : tasks) {
+                consumer.accept(task.join());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Result execute(Job job) {
+        long start = System.currentTimeMillis();
+        if (deciderSteps > 0) {
+            var decider = new Decider(job.program());
+            var verdict = decider.decide(job.word(), Math.min(deciderSteps, limits.maxSteps()));
+            long time = System.currentTimeMillis() - start;
+            if (verdict.outcome() == Outcome.NEVER_HALTS) {
+                return new Result(job, verdict.outcome(), verdict.steps(), verdict.period(), "", time);
+            }
+            if ((verdict.outcome() == Outcome.ACCEPTED || verdict.outcome() == Outcome.REJECTED)
+                    && decider.band().capacity() <= limits.maxTapeSize()) {
+                return new Result(job, verdict.outcome(), verdict.steps(), 0, decider.band().currentWord(), time);
+            }
+        }
+        var machine = new Machine(job.program(), engine, tape);
+        try {
+            machine.init(job.word());
+            var run = machine.run(limits);
+            long time = System.currentTimeMillis() - start;
+            return new Result(job, run.outcome(), run.steps(), 0, machine.band().currentWord(), time);
+        } finally {
+            if (machine.band() instanceof MappedBand band) {
+                band.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,430 @@
+package turing.machine;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.WeakHashMap;
+
+import static java.lang.String.format;
+import static java.lang.invoke.MethodType.methodType;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.synchronizedMap;
+import static turing.machine.Program.NONE;
+
+final class Bytecode {
+    private static final int MAX_CODE_SIZE = Short.MAX_VALUE;
+    private static final int CLASS_VERSION = 65;
+    private static final String CLASS_NAME = "turing/machine/GeneratedKernel";
+    private static final String KERNEL = "turing/machine/Kernel";
+    private static final String BAND = "turing/machine/Band";
+
+    private static final int STATE_VAR = 4;
+    private static final int STEPS_VAR = 5;
+    private static final int MAX_LOCALS = 7;
+    private static final int MAX_STACK = 4;
+
+    private static final Map<Program, MethodHandle> CONSTRUCTORS = synchronizedMap(new WeakHashMap<>());
+
+    private final Program program;
+    private final Pool pool = new Pool();
+    private final Code code = new Code();
+    private final TreeSet<Integer> frames = new TreeSet<>();
+
+    private Bytecode(Program program) {
+        this.program = program;
+    }
+
+    static Kernel compile(Program program) {
+        var constructor = CONSTRUCTORS.computeIfAbsent(program, Bytecode::define);
+        try {
+            return (Kernel) constructor.invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Bytecode generation error", e);
+        }
+    }
+
+    private static MethodHandle define(Program program) {
+        var bytes = new Bytecode(program).assemble();
+        try {
+            var lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            return lookup.findConstructor(lookup.lookupClass(), methodType(void.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Bytecode generation error", e);
+        }
+    }
+
+    private byte[] assemble() {
+        int thisClass = pool.classRef(CLASS_NAME);
+        int superClass = pool.classRef(KERNEL);
+        var constructor = constructor();
+        var run = run();
+
+        var out = new Code();
+        out.u4(0xCAFEBABE);
+        out.u2(0);
+        out.u2(CLASS_VERSION);
+        pool.writeTo(out);
+        out.u2(0x0001 | 0x0010 | 0x0020);
+        out.u2(thisClass);
+        out.u2(superClass);
+        out.u2(0);
+        out.u2(0);
+        out.u2(2);
+        out.bytes(constructor);
+        out.bytes(run);
+        out.u2(0);
+        return out.toByteArray();
+    }
+
+    private byte[] constructor() {
+        var body = new Code();
+        body.u1(Op.ALOAD_0);
+        body.u1(Op.INVOKESPECIAL);
+        body.u2(pool.methodRef(KERNEL, "<init>", "()V"));
+        body.u1(Op.RETURN);
+        return method(0x0001, "<init>", "()V", 1, 1, body, null);
+    }
+
+    private byte[] run() {
+        var exit = new Label();
+        var states = new Label[program.stateCount()];
+        for (int i = 0; i < states.length; i++) {
+            states[i] = program.isFinal(i) || !hasTransitions(i) ? exit : new Label();
+        }
+
+        code.u1(Op.ALOAD_0);
+        code.u1(Op.GETFIELD);
+        code.u2(pool.fieldRef(KERNEL, "state", "I"));
+        code.u1(Op.ISTORE);
+        code.u1(STATE_VAR);
+        code.u1(Op.LCONST_0);
+        code.u1(Op.LSTORE);
+        code.u1(STEPS_VAR);
+        code.u1(Op.ILOAD);
+        code.u1(STATE_VAR);
+        tableSwitch(states, exit);
+
+        for (int state = 0; state < states.length; state++) {
+            if (states[state] != exit) {
+                state(state, states, exit);
+            }
+        }
+
+        bind(exit);
+        code.u1(Op.ALOAD_0);
+        code.u1(Op.ILOAD);
+        code.u1(STATE_VAR);
+        code.u1(Op.PUTFIELD);
+        code.u2(pool.fieldRef(KERNEL, "state", "I"));
+        code.u1(Op.LLOAD);
+        code.u1(STEPS_VAR);
+        code.u1(Op.LRETURN);
+
+        code.resolve();
+        if (code.size() > MAX_CODE_SIZE) {
+            throw new IllegalStateException(format("Machine too large for bytecode engine: %d states, %d symbols",
+                    program.stateCount(), program.symbolCount()));
+        }
+        return method(0x0001 | 0x0010, "run", "(L" + BAND + ";J)J", MAX_STACK, MAX_LOCALS, code, stackMap());
+    }
+
+    private void state(int state, Label[] states, Label exit) {
+        bind(states[state]);
+        code.u1(Op.LLOAD);
+        code.u1(STEPS_VAR);
+        code.u1(Op.LLOAD_2);
+        code.u1(Op.LCMP);
+        code.jump(Op.IFGE, exit);
+        code.u1(Op.ALOAD_1);
+        code.u1(Op.INVOKEVIRTUAL);
+        code.u2(pool.methodRef(BAND, "readSymbol", "()I"));
+
+        var symbols = new Label[program.symbolCount()];
+        for (int symbol = 0; symbol < symbols.length; symbol++) {
+            symbols[symbol] = program.action(program.index(state, symbol)) == NONE ? exit : new Label();
+        }
+        tableSwitch(symbols, exit);
+
+        for (int symbol = 0; symbol < symbols.length; symbol++) {
+            if (symbols[symbol] == exit) {
+                continue;
+            }
+            int action = program.action(program.index(state, symbol));
+            bind(symbols[symbol]);
+            code.u1(Op.ALOAD_1);
+            pushInt(Program.writeSymbol(action));
+            pushInt(Program.move(action));
+            code.u1(Op.INVOKEVIRTUAL);
+            code.u2(pool.methodRef(BAND, "write", "(II)V"));
+            pushInt(Program.nextState(action));
+            code.u1(Op.ISTORE);
+            code.u1(STATE_VAR);
+            code.u1(Op.LLOAD);
+            code.u1(STEPS_VAR);
+            code.u1(Op.LCONST_1);
+            code.u1(Op.LADD);
+            code.u1(Op.LSTORE);
+            code.u1(STEPS_VAR);
+            code.jump(Op.GOTO, states[Program.nextState(action)]);
+        }
+    }
+
+    private boolean hasTransitions(int state) {
+        for (int symbol = 0; symbol < program.symbolCount(); symbol++) {
+            if (program.action(program.index(state, symbol)) != NONE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void tableSwitch(Label[] targets, Label defaultTarget) {
+        int opcode = code.size();
+        code.u1(Op.TABLESWITCH);
+        while (code.size() % 4 != 0) {
+            code.u1(0);
+        }
+        code.offset(opcode, defaultTarget);
+        code.u4(0);
+        code.u4(targets.length - 1);
+        for (var target : targets) {
+            code.offset(opcode, target);
+        }
+    }
+
+    private void pushInt(int value) {
+        if (value >= -1 && value <= 5) {
+            code.u1(Op.ICONST_0 + value);
+        } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+            code.u1(Op.BIPUSH);
+            code.u1(value);
+        } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+            code.u1(Op.SIPUSH);
+            code.u2(value);
+        } else {
+            code.u1(Op.LDC_W);
+            code.u2(pool.integer(value));
+        }
+    }
+
+    private void bind(Label label) {
+        if (label.position == -1) {
+            label.position = code.size();
+            frames.add(label.position);
+        }
+    }
+
+    private Code stackMap() {
+        var map = new Code();
+        map.u2(frames.size());
+        int previous = -1;
+        for (int offset : frames) {
+            int delta = offset - previous - 1;
+            if (previous == -1) {
+                map.u1(251 + 2);
+                map.u2(offset);
+                map.u1(1);
+                map.u1(4);
+            } else if (delta < 64) {
+                map.u1(delta);
+            } else {
+                map.u1(251);
+                map.u2(delta);
+            }
+            previous = offset;
+        }
+        return map;
+    }
+
+    private byte[] method(int access, String name, String descriptor, int maxStack, int maxLocals, Code body,
+                          Code stackMap) {
+        var out = new Code();
+        out.u2(access);
+        out.u2(pool.utf8(name));
+        out.u2(pool.utf8(descriptor));
+        out.u2(1);
+        out.u2(pool.utf8("Code"));
+        int attributesLength = stackMap == null ? 0 : 6 + stackMap.size();
+        out.u4(12 + body.size() + attributesLength);
+        out.u2(maxStack);
+        out.u2(maxLocals);
+        out.u4(body.size());
+        out.bytes(body.toByteArray());
+        out.u2(0);
+        if (stackMap == null) {
+            out.u2(0);
+        } else {
+            out.u2(1);
+            out.u2(pool.utf8("StackMapTable"));
+            out.u4(stackMap.size());
+            out.bytes(stackMap.toByteArray());
+        }
+        return out.toByteArray();
+    }
+
+    private interface Op {
+        int ICONST_0 = 0x03;
+        int LCONST_0 = 0x09;
+        int LCONST_1 = 0x0a;
+        int BIPUSH = 0x10;
+        int SIPUSH = 0x11;
+        int LDC_W = 0x13;
+        int ILOAD = 0x15;
+        int LLOAD = 0x16;
+        int LLOAD_2 = 0x20;
+        int ALOAD_0 = 0x2a;
+        int ALOAD_1 = 0x2b;
+        int ISTORE = 0x36;
+        int LSTORE = 0x37;
+        int LADD = 0x61;
+        int LCMP = 0x94;
+        int IFGE = 0x9c;
+        int GOTO = 0xa7;
+        int TABLESWITCH = 0xaa;
+        int LRETURN = 0xad;
+        int RETURN = 0xb1;
+        int GETFIELD = 0xb4;
+        int PUTFIELD = 0xb5;
+        int INVOKEVIRTUAL = 0xb6;
+        int INVOKESPECIAL = 0xb7;
+    }
+
+    private static final class Label {
+        private int position = -1;
+    }
+
+    private record Fixup(int opcode, int at, int width, Label label) {
+    }
+
+    private static final class Code {
+        private final List<Fixup> fixups = new ArrayList<>();
+        private byte[] buffer = new byte[256];
+        private int size;
+
+        void u1(int value) {
+            if (size == buffer.length) {
+                buffer = Arrays.copyOf(buffer, 2 * size);
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void u2(int value) {
+            u1(value >>> 8);
+            u1(value);
+        }
+
+        void u4(int value) {
+            u2(value >>> 16);
+            u2(value);
+        }
+
+        void bytes(byte[] bytes) {
+            for (byte b : bytes) {
+                u1(b);
+            }
+        }
+
+        void jump(int op, Label label) {
+            int opcode = size;
+            u1(op);
+            fixups.add(new Fixup(opcode, size, 2, label));
+            u2(0);
+        }
+
+        void offset(int opcode, Label label) {
+            fixups.add(new Fixup(opcode, size, 4, label));
+            u4(0);
+        }
+
+        void resolve() {
+            for (var fixup : fixups) {
+                int offset = fixup.label().position - fixup.opcode();
+                for (int i = 0; i < fixup.width(); i++) {
+                    buffer[fixup.at() + i] = (byte) (offset >>> 8 * (fixup.width() - 1 - i));
+                }
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+
+    private static final class Pool {
+        private final Map<String, Integer> entries = new HashMap<>();
+        private final Code out = new Code();
+        private int count = 1;
+
+        int utf8(String value) {
+            return entry("U" + value, () -> {
+                out.u1(1);
+                var bytes = value.getBytes(UTF_8);
+                out.u2(bytes.length);
+                out.bytes(bytes);
+            });
+        }
+
+        int integer(int value) {
+            return entry("I" + value, () -> {
+                out.u1(3);
+                out.u4(value);
+            });
+        }
+
+        int classRef(String name) {
+            int nameIndex = utf8(name);
+            return entry("C" + name, () -> {
+                out.u1(7);
+                out.u2(nameIndex);
+            });
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return memberRef(9, owner, name, descriptor);
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return memberRef(10, owner, name, descriptor);
+        }
+
+        private int memberRef(int tag, String owner, String name, String descriptor) {
+            int ownerIndex = classRef(owner);
+            int nameIndex = utf8(name);
+            int descriptorIndex = utf8(descriptor);
+            int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+                out.u1(12);
+                out.u2(nameIndex);
+                out.u2(descriptorIndex);
+            });
+            return entry("M" + tag + owner + "." + name + ":" + descriptor, () -> {
+                out.u1(tag);
+                out.u2(ownerIndex);
+                out.u2(nameAndType);
+            });
+        }
+
+        private int entry(String key, Runnable writer) {
+            var index = entries.get(key);
+            if (index == null) {
+                writer.run();
+                index = count++;
+                entries.put(key, index);
+            }
+            return index;
+        }
+
+        void writeTo(Code code) {
+            code.u2(count);
+            code.bytes(out.toByteArray());
+        }
+    }
+}
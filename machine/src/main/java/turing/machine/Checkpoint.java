@@ -0,0 +1,142 @@
+package turing.machine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static java.lang.String.format;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+public class Checkpoint {
+    public static final int MAGIC = 0x544D4350;
+    public static final int VERSION = 1;
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMinutes(1);
+
+    private final Path path;
+    private final long intervalSteps;
+    private final Duration interval;
+
+    public Checkpoint(Path path, long intervalSteps, Duration interval) {
+        this.path = path;
+        this.intervalSteps = intervalSteps;
+        this.interval = interval;
+    }
+
+    public Path path() {
+        return path;
+    }
+
+    public Run run(Machine machine, Limits limits, long iteration) {
+        long start = System.nanoTime();
+        long written = start;
+        long steps = 0;
+        while (true) {
+            long chunk = limits.maxSteps() - steps;
+            if (intervalSteps > 0) {
+                chunk = Math.min(chunk, intervalSteps - (iteration + steps) % intervalSteps);
+            }
+            var remaining = limits.elapsed(start);
+            var timeout = remaining.timeout();
+            if (interval != null) {
+                var next = interval.minusNanos(System.nanoTime() - written);
+                next = next.isNegative() ? Duration.ZERO : next;
+                if (timeout == null || next.compareTo(timeout) < 0) {
+                    timeout = next;
+                }
+            }
+            var run = machine.run(remaining.withMaxSteps(chunk).withTimeout(timeout));
+            steps += run.steps();
+            switch (run.outcome()) {
+                case ACCEPTED, REJECTED -> {
+                    return new Run(run.outcome(), steps);
+                }
+                case STEP_LIMIT -> {
+                    write(machine, iteration + steps, path);
+                    if (steps >= limits.maxSteps()) {
+                        return new Run(run.outcome(), steps);
+                    }
+                }
+                case TIMEOUT -> {
+                    write(machine, iteration + steps, path);
+                    if (limits.expired(start, System.nanoTime())) {
+                        return new Run(run.outcome(), steps);
+                    }
+                    written = System.nanoTime();
+                }
+                default -> {
+                    write(machine, iteration + steps, path);
+                    return new Run(run.outcome(), steps);
+                }
+            }
+        }
+    }
+
+    public static void write(Machine machine, long iteration, Path path) {
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            var band = machine.band();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(machine.program().hash());
+            out.writeLong(iteration);
+            out.writeUTF(machine.state());
+            out.writeInt(band.symbolCount());
+            for (int i = 0; i < band.symbolCount(); i++) {
+                out.writeChar(band.symbol(i));
+            }
+            int start = Math.min(band.leftmost(), band.position());
+            int end = Math.max(band.rightmost(), band.position());
+            out.writeInt(band.position());
+            out.writeInt(start);
+            out.writeInt(end - start + 1);
+            for (int i = start; i <= end; i++) {
+                out.writeByte(band.symbolAt(i));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpoint writing error", e);
+        }
+        try {
+            Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpoint writing error", e);
+        }
+    }
+
+    public static long read(Path path, Machine machine) {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException(format("Not a checkpoint file: %s", path));
+            }
+            var hash = in.readUTF();
+            if (!hash.equals(machine.program().hash())) {
+                throw new IllegalStateException(format("Checkpoint %s does not match machine definition", path));
+            }
+            long iteration = in.readLong();
+            var state = in.readUTF();
+            machine.init("");
+            machine.restore(machine.program().stateId(state));
+            var band = machine.band();
+            for (int i = in.readInt(), id = 0; id < i; id++) {
+                if (band.symbolId(in.readChar()) != id) {
+                    throw new IllegalStateException(format("Checkpoint %s band symbols mismatch", path));
+                }
+            }
+            int position = in.readInt();
+            int start = in.readInt();
+            int length = in.readInt();
+            for (int i = 0; i < length; i++) {
+                band.writeAt(start + i, in.readUnsignedByte());
+            }
+            band.moveTo(position);
+            return iteration;
+        } catch (IOException e) {
+            throw new IllegalStateException("Checkpoint reading error", e);
+        }
+    }
+}
@@ -5,18 +5,30 @@ import java.io.PrintWriter;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Supplier;
 
 import static java.lang.String.format;
 import static java.lang.System.err;
 import static java.lang.System.exit;
 import static java.lang.System.out;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.joining;
+import static turing.machine.Msg.RESULT_HEAD;
 import static turing.machine.Msg.msg;
 
 public class Cmd {
-    public static final int REPORT_ITERATIONS_UNTIL = 5000;
+    public static final LogPolicy.Range DEFAULT_LOG_POLICY = new LogPolicy.Range(1, 5000);
     public static final Charset DEFAULT_CHARSET = UTF_8;
     public static final String DEFAULT_OUT = "out.log";
+    public static final Engine DEFAULT_ENGINE = Engine.TABLE;
+    public static final Tape DEFAULT_TAPE = Tape.ARRAY;
+    public static final long DEFAULT_DECIDER_STEPS = 100_000;
+    public static final int DEFAULT_JOBS = Runtime.getRuntime().availableProcessors();
 
     public static void main(String... args) {
         try {
@@ -31,18 +43,79 @@ public class Cmd {
     }
 
     private static void usage() {
-        out.println("Usage: turing-machine [-h] [-c <charset>] [-o path/to/out.log] path/to/input.file");
-        out.printf("%3s %-22s %s%n", "", "path/to/input.file", "Path to input file with settings.");
+        out.println("Usage: turing-machine [-h] [-c <charset>] [-o path/to/out.log] [-e <engine>] [-b <tape>] " +
+                "[-s <steps>] [-t <millis>] [-m <size>] [-l <policy>] [-w path/to/words.file] [-d <steps>] [-j <jobs>] " +
+                "[-x path/to/cache] [-z [-y <megabytes>]] [-g] [-r path/to/trace.bin] [-f path/to/word.txt] [-k path/to/checkpoint.bin [-i <interval>] [-u]] path/to/input.file...");
+        out.println("       turing-machine [-o path/to/out.log] [-a <step> | -n <from>:<to>] -p path/to/trace.bin");
+        out.printf("%3s %-22s %s%n", "", "path/to/input.file", "Path to input file with settings. " +
+                "Multiple files run in batch mode.");
         out.println("Options:");
         out.printf("%6s, %-18s %s%n", "-c", "--charset", format("Optional. Input file encoding. Default: %s.", DEFAULT_CHARSET));
         out.printf("%6s, %-18s %s%n", "-o", "--out", format("Optional. Path to output file. Default: %s.", DEFAULT_OUT));
+        out.printf("%6s, %-18s %s%n", "-e", "--engine", format("Optional. Execution engine: %s. Default: %s.",
+                names(Engine.values()), name(DEFAULT_ENGINE)));
+        out.printf("%6s, %-18s %s%n", "-b", "--tape", format("Optional. Band storage: %s. " +
+                "Paged band allocates memory only for written pages, mapped band lives in memory-mapped " +
+                "temporary file. Default: %s.", names(Tape.values()), name(DEFAULT_TAPE)));
+        out.printf("%6s, %-18s %s%n", "-s", "--max-steps", "Optional. Stops machine after given number of steps.");
+        out.printf("%6s, %-18s %s%n", "-t", "--timeout", "Optional. Stops machine after given number of milliseconds.");
+        out.printf("%6s, %-18s %s%n", "-m", "--max-band", "Optional. Stops machine when band would exceed given size.");
+        out.printf("%6s, %-18s %s%n", "-l", "--log", format("Optional. Logged iterations: %s. " +
+                "Default: range:%d:%d.", LogPolicy.POLICIES, DEFAULT_LOG_POLICY.from(), DEFAULT_LOG_POLICY.to()));
+        out.printf("%6s, %-18s %s%n", "-w", "--words", "Optional. Path to file with input words, one per line. " +
+                "Runs in batch mode.");
+        out.printf("%6s, %-18s %s%n", "-d", "--decide", format("Optional. Batch mode detects never halting " +
+                "machines within given number of steps. 0 disables. Default: %d.", DEFAULT_DECIDER_STEPS));
+        out.printf("%6s, %-18s %s%n", "-j", "--jobs", format("Optional. Batch and nondeterministic mode " +
+                "parallelism. Default: %d.", DEFAULT_JOBS));
+        out.printf("%6s, %-18s %s%n", "-x", "--cache", format("Optional. Directory of compiled machine images " +
+                "reused while input file is unchanged. Default: %s.", Image.DEFAULT_CACHE));
+        out.printf("%6s, %-18s %s%n", "-z", "--nondeterministic", "Optional. Searches configurations of " +
+                "nondeterministic machine breadth-first until first accepting branch. Steps limit its depth.");
+        out.printf("%6s, %-18s %s%n", "-y", "--max-memory", format("Optional. Stops nondeterministic search " +
+                "when explored configurations would exceed given number of megabytes. Default: %d.",
+                Search.DEFAULT_MAX_MEMORY >> 20));
+        out.printf("%6s, %-18s %s%n", "-g", "--profile", "Optional. Counts executed transitions, state visits " +
+                "and head positions instead of logging iterations and reports them after the run.");
+        out.printf("%6s, %-18s %s%n", "-r", "--record", "Optional. Records binary trace of the run to given file " +
+                "instead of logging iterations.");
+        out.printf("%6s, %-18s %s%n", "-f", "--word-file", "Optional. Streams computed word to given file " +
+                "instead of printing it.");
+        out.printf("%6s, %-18s %s%n", "-k", "--checkpoint", "Optional. Writes checkpoints of unlogged part of the run " +
+                "to given file, periodically, when machine stops and on termination.");
+        out.printf("%6s, %-18s %s%n", "-i", "--interval", format("Optional. Checkpoint interval in steps, " +
+                "or in seconds with \"s\" suffix. Default: %ds.", Checkpoint.DEFAULT_INTERVAL.toSeconds()));
+        out.printf("%6s, %-18s %s%n", "-u", "--resume", "Optional. Resumes run from existing checkpoint.");
+        out.printf("%6s, %-18s %s%n", "-p", "--replay", "Replays binary trace from given file.");
+        out.printf("%6s, %-18s %s%n", "-a", "--at", "Optional. Replay prints machine after given iteration.");
+        out.printf("%6s, %-18s %s%n", "-n", "--range", "Optional. Replay logs iterations in given range. " +
+                "Default: all.");
         out.printf("%6s, %-18s %s%n", "-h", "--help", "Prints help.");
     }
 
     private static void runWithArgs(String... args) throws InstantiationException, IOException {
         Charset charset = DEFAULT_CHARSET;
-        String input = null;
+        var inputs = new ArrayList<Path>();
         String output = DEFAULT_OUT;
+        Engine engine = DEFAULT_ENGINE;
+        Tape tape = DEFAULT_TAPE;
+        String words = null;
+        long deciderSteps = DEFAULT_DECIDER_STEPS;
+        int jobs = DEFAULT_JOBS;
+        var limits = Limits.NONE;
+        LogPolicy policy = DEFAULT_LOG_POLICY;
+        Path cache = Image.DEFAULT_CACHE;
+        boolean nondeterministic = false;
+        long maxMemory = Search.DEFAULT_MAX_MEMORY;
+        boolean profile = false;
+        String record = null;
+        String wordFile = null;
+        String checkpoint = null;
+        String interval = null;
+        boolean resume = false;
+        String replay = null;
+        Long at = null;
+        String range = null;
         for (var i = 0; i < args.length; i++) {
             switch (args[i]) {
                 case "-h", "--help" -> {
@@ -51,51 +124,326 @@ public class Cmd {
                 }
                 case "-c", "--charset" -> charset = Charset.forName(args[++i]);
                 case "-o", "--out" -> output = args[++i];
-                default -> input = args[i];
+                case "-e", "--engine" -> engine = Engine.valueOf(args[++i].toUpperCase());
+                case "-b", "--tape" -> tape = Tape.valueOf(args[++i].toUpperCase());
+                case "-s", "--max-steps" -> limits = limits.withMaxSteps(Long.parseLong(args[++i]));
+                case "-t", "--timeout" -> limits = limits.withTimeout(Duration.ofMillis(Long.parseLong(args[++i])));
+                case "-m", "--max-band" -> limits = limits.withMaxTapeSize(Integer.parseInt(args[++i]));
+                case "-w", "--words" -> words = args[++i];
+                case "-d", "--decide" -> deciderSteps = Long.parseLong(args[++i]);
+                case "-j", "--jobs" -> jobs = Integer.parseInt(args[++i]);
+                case "-l", "--log" -> policy = LogPolicy.parse(args[++i]);
+                case "-x", "--cache" -> cache = Path.of(args[++i]);
+                case "-z", "--nondeterministic" -> nondeterministic = true;
+                case "-y", "--max-memory" -> maxMemory = Long.parseLong(args[++i]) << 20;
+                case "-g", "--profile" -> profile = true;
+                case "-r", "--record" -> record = args[++i];
+                case "-f", "--word-file" -> wordFile = args[++i];
+                case "-k", "--checkpoint" -> checkpoint = args[++i];
+                case "-i", "--interval" -> interval = args[++i];
+                case "-u", "--resume" -> resume = true;
+                case "-p", "--replay" -> replay = args[++i];
+                case "-a", "--at" -> at = Long.parseLong(args[++i]);
+                case "-n", "--range" -> range = args[++i];
+                default -> inputs.add(Path.of(args[i]));
             }
         }
-        if (input == null) {
+        if (replay != null) {
+            runReplay(Path.of(replay), at, range, Path.of(output));
+            return;
+        }
+        if (inputs.isEmpty()) {
             throw new InstantiationException("Input path is null");
         }
-        runWithParams(charset, Path.of(input), Path.of(output));
+        if (nondeterministic) {
+            var unsupported = new ArrayList<String>();
+            if (engine != DEFAULT_ENGINE) unsupported.add("-e");
+            if (tape != DEFAULT_TAPE) unsupported.add("-b");
+            if (!policy.equals(DEFAULT_LOG_POLICY)) unsupported.add("-l");
+            if (!cache.equals(Image.DEFAULT_CACHE)) unsupported.add("-x");
+            if (words != null) unsupported.add("-w");
+            if (profile) unsupported.add("-g");
+            if (record != null) unsupported.add("-r");
+            if (wordFile != null) unsupported.add("-f");
+            if (checkpoint != null || interval != null || resume) unsupported.add("-k");
+            reject("Nondeterministic mode", unsupported);
+            runSearch(charset, inputs.getFirst(), Path.of(output), limits, jobs, maxMemory);
+        } else if (inputs.size() == 1 && words == null && MultiSettings.isMultiTape(inputs.getFirst(), charset)) {
+            var unsupported = new ArrayList<String>();
+            if (engine != DEFAULT_ENGINE) unsupported.add("-e");
+            if (profile) unsupported.add("-g");
+            if (record != null) unsupported.add("-r");
+            if (wordFile != null) unsupported.add("-f");
+            if (checkpoint != null) unsupported.add("-k");
+            if (policy.retained() > 0) unsupported.add("-l last:<k>");
+            reject("Multi-tape input", unsupported);
+            runMultiTape(charset, inputs.getFirst(), Path.of(output), tape, limits, policy);
+        } else if (inputs.size() > 1 || words != null) {
+            var unsupported = new ArrayList<String>();
+            if (!policy.equals(DEFAULT_LOG_POLICY)) unsupported.add("-l");
+            if (!cache.equals(Image.DEFAULT_CACHE)) unsupported.add("-x");
+            if (profile) unsupported.add("-g");
+            if (record != null) unsupported.add("-r");
+            if (wordFile != null) unsupported.add("-f");
+            if (checkpoint != null || interval != null || resume) unsupported.add("-k");
+            reject("Batch mode", unsupported);
+            runBatch(charset, inputs, words == null ? null : Path.of(words), Path.of(output), engine, tape, limits,
+                    deciderSteps, jobs);
+        } else {
+            runWithParams(charset, inputs.getFirst(), cache, Path.of(output), engine, tape, limits, policy, profile,
+                    record == null ? null : Path.of(record), checkpoint(checkpoint, interval), resume,
+                    wordFile == null ? null : Path.of(wordFile));
+        }
+    }
+
+    private static void reject(String mode, List<String> options) {
+        if (!options.isEmpty()) {
+            throw new IllegalStateException(format("%s does not support: %s", mode, String.join(", ", options)));
+        }
     }
 
-    private static void runWithParams(Charset charset, Path input, Path output) throws IOException {
+    private static void runBatch(Charset charset, List<Path> inputs, Path words, Path output, Engine engine,
+                                 Tape tape, Limits limits, long deciderSteps, int jobs) throws IOException {
+        var wordList = words == null ? null : Files.readAllLines(words, charset);
+        var batchJobs = Batch.jobs(inputs, wordList, charset);
+        try (var fileWriter = new PrintWriter(Files.newOutputStream(output))) {
+            var log = new Log(out::print, fileWriter::print);
+            log.log(RESULT_HEAD);
+            new Batch(engine, tape, limits, deciderSteps, jobs).run(batchJobs, result -> log.log(msg(result)));
+        }
+    }
+
+    private static void runSearch(Charset charset, Path input, Path output, Limits limits, int jobs, long maxMemory)
+            throws IOException {
         var settings = Settings.parse(input, charset);
+        settings.validate(false);
+        try (var fileWriter = new PrintWriter(Files.newOutputStream(output))) {
+            var log = new Log(out::print, fileWriter::print);
+            log.settings(settings);
+
+            long start = System.currentTimeMillis();
+
+            var search = new Search(settings, jobs, maxMemory);
+            var result = runGuarded(search::cancel, () -> search.run(settings.word(), limits));
+            long time = System.currentTimeMillis() - start;
+            log.searched(result, settings.word(), time);
+        }
+    }
+
+    private static void runMultiTape(Charset charset, Path input, Path output, Tape tape, Limits limits,
+                                     LogPolicy policy) throws IOException {
+        var settings = MultiSettings.parse(input, charset);
         settings.validate();
         try (var fileWriter = new PrintWriter(Files.newOutputStream(output))) {
-            run(settings, fileWriter);
+            var log = new Log(out::print, fileWriter::print);
+            log.settings(settings);
+
+            long start = System.currentTimeMillis();
+
+            var machine = new MultiMachine(MultiProgram.compile(settings), tape);
+            machine.init(settings.word());
+            log.initialized(machine);
+            var run = machine.run(limits, (transition, iteration) -> {
+                if (policy.logs(iteration)) {
+                    log.iteration(iteration, transition, machine);
+                }
+            });
+
+            long time = System.currentTimeMillis() - start;
+            log.result(machine, run.outcome(), settings.word(), run.steps(), time);
+        }
+    }
+
+    private static void runReplay(Path trace, Long at, String range, Path output) throws IOException {
+        var bounds = range == null ? null : range(range);
+        var replay = Trace.open(trace);
+        try (var fileWriter = new PrintWriter(Files.newOutputStream(output))) {
+            var log = new Log(out::print, fileWriter::print);
+            log.trace(replay);
+            if (at != null) {
+                log.replayed(at, replay.machine(at));
+            } else if (bounds != null) {
+                replay.render(bounds[0], bounds[1], log);
+            } else {
+                replay.render(0, replay.steps(), log);
+            }
+        }
+    }
+
+    private static long[] range(String range) {
+        var parts = range.split(":");
+        try {
+            if (parts.length != 2) {
+                throw new IllegalStateException(format("Invalid range: %s", range));
+            }
+            return new long[]{Long.parseLong(parts[0]), Long.parseLong(parts[1])};
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(format("Invalid range: %s. Expected: <from>:<to>", range), e);
+        }
+    }
+
+    private static void runWithParams(Charset charset, Path input, Path cache, Path output, Engine engine,
+                                      Tape tape, Limits limits, LogPolicy policy, boolean profile, Path record,
+                                      Checkpoint checkpoint, boolean resume, Path wordFile) throws IOException {
+        var parsed = Image.load(input, charset, cache, err::println);
+        var settings = parsed.settings();
+        var program = parsed.program();
+        try (var fileWriter = new PrintWriter(Files.newOutputStream(output))) {
+            if (record != null) {
+                record(settings, program, fileWriter, limits, record);
+            } else if (profile) {
+                profile(settings, program, fileWriter, tape, limits, wordFile);
+            } else if (checkpoint != null && resume && Files.exists(checkpoint.path())) {
+                resume(settings, program, fileWriter, engine, tape, limits, checkpoint, wordFile);
+            } else {
+                run(settings, program, fileWriter, engine, tape, limits, policy, checkpoint, wordFile);
+            }
+        }
+    }
+
+    private static void record(Settings settings, Program program, PrintWriter fileWriter, Limits limits,
+                               Path record) {
+        var log = new Log(out::print, fileWriter::print);
+        log.settings(settings);
+
+        long start = System.currentTimeMillis();
+
+        try (var recorder = Trace.recorder(program, record)) {
+            var run = recorder.record(settings.word(), limits);
+            long time = System.currentTimeMillis() - start;
+            log.result(recorder.machine(), run.outcome(), settings.word(), run.steps(), time);
         }
     }
 
-    private static void run(Settings settings, PrintWriter fileWriter) {
+    private static void profile(Settings settings, Program program, PrintWriter fileWriter, Tape tape,
+                                Limits limits, Path wordFile) {
         var log = new Log(out::print, fileWriter::print);
         log.settings(settings);
 
         long start = System.currentTimeMillis();
 
-        var machine = new Machine(settings.startState(), settings.finalStates(), settings.transitions());
+        var profile = new Profile(program);
+        var machine = profile.machine(tape);
         machine.init(settings.word());
-        log.initialized(machine);
+        var run = runGuarded(machine::cancel, () -> machine.run(limits));
 
-        int iteration = 0;
-        while (!machine.isInFinalState()) {
-            var transition = machine.proceed();
-            if (transition == null) {
-                break;
-            }
+        long time = System.currentTimeMillis() - start;
+        log.profile(profile);
+        result(log, machine, run.outcome(), settings.word(), wordFile, run.steps(), time);
+    }
 
-            iteration++;
-            log.iteration(iteration, transition, machine);
+    private static void resume(Settings settings, Program program, PrintWriter fileWriter, Engine engine, Tape tape,
+                               Limits limits, Checkpoint checkpoint, Path wordFile) {
+        var log = new Log(out::print, fileWriter::print);
+        log.settings(settings);
 
-            if (iteration == REPORT_ITERATIONS_UNTIL) {
-                log.abandoned(iteration);
-                log.clearAppender();
-                fileWriter.close();
-            }
+        long start = System.currentTimeMillis();
+
+        var machine = new Machine(program, engine, tape);
+        long iteration = Checkpoint.read(checkpoint.path(), machine);
+        log.resumed(iteration, machine);
+        var run = runGuarded(machine::cancel, () -> checkpoint.run(machine,
+                limits.withMaxSteps(Math.max(0, limits.maxSteps() - iteration)), iteration));
+
+        long time = System.currentTimeMillis() - start;
+        result(log, machine, run.outcome(), settings.word(), wordFile, iteration + run.steps(), time);
+    }
+
+    private static void run(Settings settings, Program program, PrintWriter fileWriter, Engine engine, Tape tape,
+                            Limits limits, LogPolicy policy, Checkpoint checkpoint, Path wordFile) {
+        if (engine != Engine.TABLE && policy.until() == Long.MAX_VALUE) {
+            throw new IllegalStateException(format("Engine %s needs log policy ending with range:<from>:<to>",
+                    engine.name().toLowerCase()));
+        }
+        if (checkpoint != null && policy.until() == Long.MAX_VALUE) {
+            throw new IllegalStateException("Checkpoints need log policy ending with range:<from>:<to>");
+        }
+        var log = new Log(out::print, fileWriter::print);
+        log.settings(settings);
+
+        long start = System.currentTimeMillis();
+
+        Machine machine;
+        Run run;
+        long begin;
+        try (var asyncLog = new AsyncLog(program, log, policy)) {
+            machine = asyncLog.machine(engine, tape);
+            machine.init(settings.word());
+            log.initialized(machine);
+            asyncLog.start(settings.word());
+            begin = System.nanoTime();
+            run = machine.run(limits.withMaxSteps(Math.min(policy.until(), limits.maxSteps())));
+        }
+
+        long iteration = run.steps();
+        if (iteration == policy.until() && run.outcome() == Outcome.STEP_LIMIT) {
+            log.abandoned(iteration);
+            log.clearAppender();
+            fileWriter.close();
+            var rest = limits.elapsed(begin).withMaxSteps(limits.maxSteps() - iteration);
+            long logged = iteration;
+            run = checkpoint == null ? machine.run(rest)
+                    : runGuarded(machine::cancel, () -> checkpoint.run(machine, rest, logged));
+            iteration += run.steps();
         }
 
         long time = System.currentTimeMillis() - start;
-        log.result(machine, settings.word(), iteration, time);
+        result(log, machine, run.outcome(), settings.word(), wordFile, iteration, time);
+    }
+
+    private static void result(Log log, Machine machine, Outcome outcome, String word, Path wordFile, long iterations,
+                               long time) {
+        if (wordFile != null && outcome == Outcome.ACCEPTED) {
+            machine.band().writeWord(wordFile);
+        }
+        log.result(machine, outcome, word, wordFile, iterations, time);
+        if (machine.band() instanceof MappedBand band) {
+            band.close();
+        }
+    }
+
+    private static <T> T runGuarded(Runnable cancel, Supplier<T> runner) {
+        var finished = new CountDownLatch(1);
+        var hook = new Thread(() -> {
+            cancel.run();
+            try {
+                finished.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Runtime.getRuntime().addShutdownHook(hook);
+        try {
+            return runner.get();
+        } finally {
+            finished.countDown();
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException e) {
+                // shutdown in progress
+            }
+        }
+    }
+
+    private static Checkpoint checkpoint(String path, String interval) {
+        if (path == null) {
+            return null;
+        }
+        if (interval == null) {
+            return new Checkpoint(Path.of(path), 0, Checkpoint.DEFAULT_INTERVAL);
+        }
+        if (interval.endsWith("s")) {
+            var seconds = Duration.ofSeconds(Long.parseLong(interval.substring(0, interval.length() - 1)));
+            return new Checkpoint(Path.of(path), 0, seconds);
+        }
+        return new Checkpoint(Path.of(path), Long.parseLong(interval), null);
+    }
+
+    private static String names(Enum<?>[] values) {
+        return Arrays.stream(values).map(Cmd::name).collect(joining("|"));
+    }
+
+    private static String name(Enum<?> value) {
+        return value.name().toLowerCase();
     }
-}
\ No newline at end of file
+}
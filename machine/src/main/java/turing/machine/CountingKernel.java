@@ -0,0 +1,43 @@
+package turing.machine;
+
+import static turing.machine.Program.NONE;
+
+final class CountingKernel extends Kernel {
+    private final int[] table;
+    private final long[] finalStates;
+    private final int stride;
+    private final long[] entries;
+
+    CountingKernel(Program program, long[] entries) {
+        this.table = program.table();
+        this.finalStates = program.finalStates();
+        this.stride = program.symbolCount();
+        this.entries = entries;
+    }
+
+    @Override
+    public long run(Band band, long maxSteps) {
+        var table = this.table;
+        var finalStates = this.finalStates;
+        var entries = this.entries;
+        int stride = this.stride;
+        int state = this.state;
+        long steps = 0;
+        while (steps < maxSteps && (finalStates[state >>> 6] & (1L << state)) == 0) {
+            int symbol = band.readSymbol();
+            if (symbol >= stride) {
+                break;
+            }
+            int action = table[state * stride + symbol];
+            if (action == NONE) {
+                break;
+            }
+            band.write(Program.writeSymbol(action), Program.move(action));
+            state = Program.nextState(action);
+            entries[state]++;
+            steps++;
+        }
+        this.state = state;
+        return steps;
+    }
+}
@@ -0,0 +1,212 @@
+package turing.machine;
+
+import static turing.machine.Program.NONE;
+
+public class Decider {
+    public static final int MAX_RECORDS = 64;
+    public static final int MAX_SEGMENT = 64;
+
+    public record Verdict(Outcome outcome, long steps, long period, int shift) {
+    }
+
+    private final Program program;
+    private final Band band;
+    private final Records right = new Records(1);
+    private final Records left = new Records(-1);
+
+    private int state;
+    private long steps;
+    private long hash;
+    private int low;
+    private int high;
+
+    private long power;
+    private long lambda;
+    private long savedHash;
+    private int savedState;
+    private int savedPosition;
+    private int savedLow;
+    private int savedLength;
+    private byte[] saved = new byte[Band.INITIAL_SIZE];
+
+    public Decider(Program program) {
+        this.program = program;
+        this.band = new ArrayBand(program.symbols());
+    }
+
+    public Verdict decide(String word, long maxSteps) {
+        init(word);
+        while (!program.isFinal(state)) {
+            int position = band.position();
+            int symbol = band.readSymbol();
+            int action = symbol < program.symbolCount() ? program.action(program.index(state, symbol)) : NONE;
+            if (action == NONE) {
+                return new Verdict(Outcome.REJECTED, steps, 0, 0);
+            }
+            if (steps >= maxSteps) {
+                return new Verdict(Outcome.STEP_LIMIT, steps, 0, 0);
+            }
+            int write = Program.writeSymbol(action);
+            hash ^= cell(position, symbol) ^ cell(position, write);
+            band.write(write, Program.move(action));
+            state = Program.nextState(action);
+            steps++;
+            position = band.position();
+            low = Math.min(low, position);
+            high = Math.max(high, position);
+            var verdict = cycle(position);
+            if (verdict == null) {
+                verdict = right.next(position);
+            }
+            if (verdict == null) {
+                verdict = left.next(position);
+            }
+            if (verdict != null) {
+                return verdict;
+            }
+        }
+        return new Verdict(Outcome.ACCEPTED, steps, 0, 0);
+    }
+
+    Band band() {
+        return band;
+    }
+
+    private void init(String word) {
+        band.reset(word);
+        state = program.startState();
+        steps = 0;
+        hash = 0;
+        for (int i = 0; i < word.length(); i++) {
+            hash ^= cell(i, band.symbolAt(i));
+        }
+        low = 0;
+        high = Math.max(0, word.length() - 1);
+        right.reset(high);
+        left.reset(0);
+        power = 1;
+        lambda = 0;
+        save(0);
+    }
+
+    private Verdict cycle(int position) {
+        lambda++;
+        if (configuration(position) == savedHash && isSaved(position)) {
+            return new Verdict(Outcome.NEVER_HALTS, steps, lambda, 0);
+        }
+        if (lambda == power) {
+            save(position);
+            power *= 2;
+            lambda = 0;
+        }
+        return null;
+    }
+
+    private void save(int position) {
+        savedHash = configuration(position);
+        savedState = state;
+        savedPosition = position;
+        savedLow = low;
+        savedLength = high - low + 1;
+        if (saved.length < savedLength) {
+            saved = new byte[Math.max(savedLength, 2 * saved.length)];
+        }
+        for (int i = 0; i < savedLength; i++) {
+            saved[i] = (byte) band.symbolAt(low + i);
+        }
+    }
+
+    private boolean isSaved(int position) {
+        if (state != savedState || position != savedPosition) {
+            return false;
+        }
+        for (int i = low; i <= high; i++) {
+            int index = i - savedLow;
+            int symbol = index < 0 || index >= savedLength ? Band.EMPTY_SYMBOL : saved[index] & 0xFF;
+            if (band.symbolAt(i) != symbol) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long configuration(int position) {
+        return hash ^ mix((long) state << 32 ^ position);
+    }
+
+    private static long cell(int position, int symbol) {
+        return symbol == Band.EMPTY_SYMBOL ? 0 : mix((long) position << 8 | symbol);
+    }
+
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private final class Records {
+        private final int direction;
+        private final int[] states = new int[MAX_RECORDS];
+        private final long[] steps = new long[MAX_RECORDS];
+        private final int[] distances = new int[MAX_RECORDS];
+        private final int[] lows = new int[MAX_RECORDS];
+        private final byte[][] segments = new byte[MAX_RECORDS][MAX_SEGMENT];
+        private int count;
+        private int extent;
+        private int low;
+
+        Records(int direction) {
+            this.direction = direction;
+        }
+
+        void reset(int position) {
+            count = 0;
+            extent = direction * position;
+            low = extent;
+        }
+
+        Verdict next(int position) {
+            int distance = direction * position;
+            low = Math.min(low, distance);
+            if (distance <= extent) {
+                return null;
+            }
+            extent = distance;
+            if (count > 0) {
+                lows[(count - 1) % MAX_RECORDS] = low;
+            }
+            int reach = distance;
+            for (int i = count - 1; i >= Math.max(0, count - MAX_RECORDS); i--) {
+                int slot = i % MAX_RECORDS;
+                reach = Math.min(reach, lows[slot]);
+                int width = distances[slot] - reach;
+                if (width >= MAX_SEGMENT) {
+                    break;
+                }
+                if (states[slot] == state && matches(slot, position, width)) {
+                    return new Verdict(Outcome.NEVER_HALTS, Decider.this.steps, Decider.this.steps - steps[slot],
+                            direction * (distance - distances[slot]));
+                }
+            }
+            int slot = count++ % MAX_RECORDS;
+            states[slot] = state;
+            steps[slot] = Decider.this.steps;
+            distances[slot] = distance;
+            for (int k = 0; k < MAX_SEGMENT; k++) {
+                segments[slot][k] = (byte) band.symbolAt(position - direction * k);
+            }
+            low = distance;
+            return null;
+        }
+
+        private boolean matches(int slot, int position, int width) {
+            for (int k = 0; k <= width; k++) {
+                if (band.symbolAt(position - direction * k) != (segments[slot][k] & 0xFF)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
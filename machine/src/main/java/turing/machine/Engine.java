@@ -0,0 +1,15 @@
+package turing.machine;
+
+public enum Engine {
+    TABLE,
+    BYTECODE,
+    MACRO;
+
+    Kernel kernel(Program program) {
+        return switch (this) {
+            case TABLE -> new TableKernel(program);
+            case BYTECODE -> Bytecode.compile(program);
+            case MACRO -> new MacroKernel(program);
+        };
+    }
+}
@@ -0,0 +1,83 @@
+package turing.machine;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+final class Events {
+    private static final String CATEGORY = "Turing Machine";
+
+    private Events() {
+    }
+
+    @Name("turing.machine.RunStart")
+    @Label("Machine Run Start")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RunStart extends Event {
+        @Label("Machine Hash")
+        String hash;
+        @Label("Word Length")
+        long wordLength;
+        @Label("Tape Length")
+        long tapeLength;
+    }
+
+    @Name("turing.machine.Run")
+    @Label("Machine Run")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class RunEnd extends Event {
+        @Label("Machine Hash")
+        String hash;
+        @Label("Word Length")
+        long wordLength;
+        @Label("Outcome")
+        String outcome;
+        @Label("Iterations")
+        long iterations;
+        @Label("Tape Length")
+        long tapeLength;
+    }
+
+    @Name("turing.machine.StepBatch")
+    @Label("Step Batch")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    static final class StepBatch extends Event {
+        @Label("Steps")
+        long steps;
+        @Label("Steps per Second")
+        long stepsPerSecond;
+        @Label("Head Position")
+        int headPosition;
+    }
+
+    @Name("turing.machine.BandGrowth")
+    @Label("Band Growth")
+    @Category(CATEGORY)
+    static final class BandGrowth extends Event {
+        @Label("Old Size")
+        @DataAmount
+        long oldSize;
+        @Label("New Size")
+        @DataAmount
+        long newSize;
+        @Label("Copied")
+        @DataAmount
+        long copied;
+    }
+
+    @Name("turing.machine.Parse")
+    @Label("Settings Parse")
+    @Category(CATEGORY)
+    static final class Parse extends Event {
+        @Label("Stage")
+        String stage;
+        @Label("Transitions")
+        long transitions;
+    }
+}
@@ -0,0 +1,186 @@
+package turing.machine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.READ;
+
+public final class Image {
+    public static final int MAGIC = 0x544D494D;
+    public static final int VERSION = 1;
+    public static final Path DEFAULT_CACHE = Path.of(System.getProperty("user.home"), ".cache", "turing-machine");
+    private static final String EXTENSION = ".tmi";
+    private static final int HASH_CHUNK = 1 << 30;
+
+    private Image() {
+    }
+
+    public static Parser.Parsed load(Path input, Charset charset, Path cache, Consumer<String> warnings) {
+        var image = cache.resolve(hash(input, charset) + EXTENSION);
+        if (Files.exists(image)) {
+            try {
+                return read(image);
+            } catch (IllegalStateException e) {
+                // stale or damaged image, parsed again below
+            }
+        }
+        var parsed = Parser.parse(input, charset);
+        try {
+            Files.createDirectories(cache);
+            write(parsed, image);
+        } catch (IOException | IllegalStateException e) {
+            warnings.accept(Msg.msg(e));
+        }
+        return parsed;
+    }
+
+    public static void write(Parser.Parsed parsed, Path path) {
+        var settings = parsed.settings();
+        var program = parsed.program();
+        var strings = new byte[program.stateCount() + 4][];
+        strings[0] = chars(settings.bandAlphabet()).getBytes(UTF_8);
+        strings[1] = chars(settings.inputAlphabet()).getBytes(UTF_8);
+        strings[2] = settings.word().getBytes(UTF_8);
+        strings[3] = String.valueOf(program.symbols()).getBytes(UTF_8);
+        int size = 4 * Integer.BYTES + Integer.BYTES * strings.length;
+        for (int i = 0; i < program.stateCount(); i++) {
+            strings[i + 4] = program.state(i).getBytes(UTF_8);
+        }
+        for (var string : strings) {
+            size += string.length;
+        }
+        var finals = program.finalStates();
+        var table = program.table();
+        size += Integer.BYTES + Long.BYTES * finals.length + Integer.BYTES * table.length;
+
+        var buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(program.stateCount()).putInt(program.startState());
+        for (var string : strings) {
+            buffer.putInt(string.length).put(string);
+        }
+        buffer.putInt(finals.length);
+        buffer.asLongBuffer().put(finals);
+        buffer.position(buffer.position() + Long.BYTES * finals.length);
+        buffer.asIntBuffer().put(table);
+
+        var temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, path, REPLACE_EXISTING, ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Image writing error", e);
+        }
+    }
+
+    public static Parser.Parsed read(Path path) {
+        ByteBuffer buffer;
+        try {
+            buffer = ByteBuffer.wrap(Files.readAllBytes(path));
+        } catch (IOException e) {
+            throw new IllegalStateException("Image reading error", e);
+        }
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                throw new IllegalStateException(format("Not a machine image: %s", path));
+            }
+            int stateCount = buffer.getInt();
+            int startState = buffer.getInt();
+            check(stateCount > 0 && stateCount <= Program.MAX_STATES && startState >= 0 && startState < stateCount,
+                    "Invalid states");
+            var bandAlphabet = alphabet(string(buffer));
+            var inputAlphabet = alphabet(string(buffer));
+            var word = string(buffer);
+            var symbols = string(buffer).toCharArray();
+            check(symbols.length > 0 && symbols.length <= Band.MAX_SYMBOLS && symbols[0] == Band.EMPTY_CHARACTER,
+                    "Invalid symbols");
+            check(buffer.remaining() >= (long) Integer.BYTES * stateCount, "Truncated states");
+            var states = new String[stateCount];
+            for (int i = 0; i < stateCount; i++) {
+                states[i] = string(buffer);
+            }
+            int finalCount = buffer.getInt();
+            check(finalCount == (stateCount + 63) >>> 6, "Invalid final states");
+            check(buffer.remaining() >= (long) Long.BYTES * finalCount, "Truncated final states");
+            var finals = new long[finalCount];
+            buffer.asLongBuffer().get(finals);
+            buffer.position(buffer.position() + Long.BYTES * finals.length);
+            check(buffer.remaining() == (long) Integer.BYTES * stateCount * symbols.length, "Invalid table size");
+            var table = new int[stateCount * symbols.length];
+            buffer.asIntBuffer().get(table);
+            for (int action : table) {
+                check(action == Program.NONE || action >= 0 && Program.nextState(action) < stateCount
+                        && Program.writeSymbol(action) < symbols.length, "Invalid action");
+            }
+
+            var program = Program.of(states, symbols, startState, finals, table);
+            var finalStates = new HashSet<String>();
+            for (int i = 0; i < stateCount; i++) {
+                if (program.isFinal(i)) {
+                    finalStates.add(states[i]);
+                }
+            }
+            var settings = new Settings(bandAlphabet, inputAlphabet, word, new HashSet<>(Arrays.asList(states)),
+                    states[startState], finalStates, program.transitions());
+            return new Parser.Parsed(settings, program);
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(format("Damaged machine image: %s", path), e);
+        }
+    }
+
+    private static void check(boolean valid, String message) {
+        if (!valid) {
+            throw new IllegalStateException(message);
+        }
+    }
+
+    static String hash(Path input, Charset charset) {
+        try (var channel = FileChannel.open(input, READ)) {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(charset.name().getBytes(UTF_8));
+            for (long position = 0; position < channel.size(); position += HASH_CHUNK) {
+                digest.update(channel.map(READ_ONLY, position, Math.min(HASH_CHUNK, channel.size() - position)));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Input hashing error", e);
+        }
+    }
+
+    private static String chars(Set<Character> alphabet) {
+        var sb = new StringBuilder();
+        alphabet.forEach(sb::append);
+        return sb.toString();
+    }
+
+    private static Set<Character> alphabet(String chars) {
+        var alphabet = new HashSet<Character>();
+        for (int i = 0; i < chars.length(); i++) {
+            alphabet.add(chars.charAt(i));
+        }
+        return alphabet;
+    }
+
+    private static String string(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        check(length >= 0 && length <= buffer.remaining(), "Invalid string length");
+        var bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+}
@@ -0,0 +1,166 @@
+package turing.machine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class Journal implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    public static final long DEFAULT_MAX_STEPS = 1L << 25;
+
+    private final Machine machine;
+    private final long[] entries;
+    private final int blockSize;
+    private final long maxBlocks;
+    private final ByteBuffer buffer;
+    private FileChannel spill;
+    private long steps;
+    private long memoryStart;
+    private long horizon;
+
+    public Journal(Machine machine) {
+        this(machine, DEFAULT_CAPACITY, DEFAULT_MAX_STEPS);
+    }
+
+    public Journal(Machine machine, int capacity, long maxSteps) {
+        this.machine = machine;
+        this.entries = new long[capacity];
+        this.blockSize = capacity / 2;
+        this.maxBlocks = Math.max(0, (maxSteps - capacity) / blockSize);
+        this.buffer = ByteBuffer.allocateDirect(blockSize * Long.BYTES);
+    }
+
+    public void init(String word) {
+        machine.init(word);
+        steps = 0;
+        memoryStart = 0;
+        horizon = 0;
+    }
+
+    public Transition proceed() {
+        var band = machine.band();
+        long entry = band.position() & 0xFFFFFFFFL | (long) band.readSymbol() << 32 | (long) machine.stateId() << 40;
+        var transition = machine.proceed();
+        if (transition != null) {
+            if (steps - memoryStart == entries.length) {
+                spill();
+            }
+            entries[(int) (steps++ % entries.length)] = entry;
+        }
+        return transition;
+    }
+
+    public boolean back() {
+        if (steps == horizon) {
+            return false;
+        }
+        if (steps == memoryStart) {
+            unspill();
+        }
+        long entry = entries[(int) (--steps % entries.length)];
+        int position = (int) entry;
+        var band = machine.band();
+        band.moveTo(position);
+        band.writeAt(position, (int) (entry >>> 32) & 0xFF);
+        machine.restore((int) (entry >>> 40));
+        return true;
+    }
+
+    public boolean backTo(long step) {
+        while (steps > step) {
+            if (!back()) {
+                return false;
+            }
+        }
+        return steps == step;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    public long horizon() {
+        return horizon;
+    }
+
+    public Machine machine() {
+        return machine;
+    }
+
+    private void spill() {
+        if (maxBlocks == 0) {
+            memoryStart += blockSize;
+            horizon = memoryStart;
+            return;
+        }
+        buffer.clear();
+        for (long step = memoryStart; step < memoryStart + blockSize; step++) {
+            buffer.putLong(entries[(int) (step % entries.length)]);
+        }
+        buffer.flip();
+        try {
+            var channel = channel();
+            long offset = offset(memoryStart);
+            while (buffer.hasRemaining()) {
+                offset += channel.write(buffer, offset);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal writing error", e);
+        }
+        memoryStart += blockSize;
+        if (memoryStart - horizon > maxBlocks * blockSize) {
+            horizon += blockSize;
+        }
+    }
+
+    private void unspill() {
+        memoryStart -= blockSize;
+        buffer.clear();
+        try {
+            long offset = offset(memoryStart);
+            while (buffer.hasRemaining()) {
+                int read = spill.read(buffer, offset);
+                if (read < 0) {
+                    throw new IllegalStateException("Journal file truncated");
+                }
+                offset += read;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Journal reading error", e);
+        }
+        buffer.flip();
+        for (long step = memoryStart; step < memoryStart + blockSize; step++) {
+            entries[(int) (step % entries.length)] = buffer.getLong();
+        }
+    }
+
+    private long offset(long step) {
+        return step / blockSize % maxBlocks * blockSize * Long.BYTES;
+    }
+
+    private FileChannel channel() throws IOException {
+        if (spill == null) {
+            var path = Files.createTempFile("turing-journal", ".bin");
+            spill = FileChannel.open(path, READ, WRITE, DELETE_ON_CLOSE);
+        }
+        return spill;
+    }
+
+    @Override
+    public void close() {
+        if (spill != null) {
+            try {
+                spill.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Journal closing error", e);
+            }
+            spill = null;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package turing.machine;
+
+abstract class Kernel {
+    int state;
+
+    public abstract long run(Band band, long maxSteps);
+}
@@ -0,0 +1,42 @@
+package turing.machine;
+
+import java.time.Duration;
+
+public record Limits(long maxSteps, Duration timeout, int maxTapeSize) {
+    public static final Limits NONE = new Limits(Long.MAX_VALUE, null, Band.MAX_SIZE);
+
+    public Limits withMaxSteps(long maxSteps) {
+        return new Limits(maxSteps, timeout, maxTapeSize);
+    }
+
+    public Limits withTimeout(Duration timeout) {
+        return new Limits(maxSteps, timeout, maxTapeSize);
+    }
+
+    public Limits withMaxTapeSize(int maxTapeSize) {
+        return new Limits(maxSteps, timeout, maxTapeSize);
+    }
+
+    public Limits elapsed(long start) {
+        if (timeout == null) {
+            return this;
+        }
+        var left = timeout.minusNanos(System.nanoTime() - start);
+        return withTimeout(left.isNegative() ? Duration.ZERO : left);
+    }
+
+    public boolean expired(long start, long now) {
+        return now - start >= timeoutNanos();
+    }
+
+    long timeoutNanos() {
+        if (timeout == null) {
+            return Long.MAX_VALUE;
+        }
+        try {
+            return timeout.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
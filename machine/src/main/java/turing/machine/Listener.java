@@ -0,0 +1,21 @@
+package turing.machine;
+
+import java.nio.LongBuffer;
+
+public interface Listener {
+    default void steps(long steps) {
+    }
+
+    default void bandGrown(long capacity) {
+    }
+
+    default boolean countsStates() {
+        return false;
+    }
+
+    default void stateEntries(LongBuffer entries) {
+    }
+
+    default void halted(Run run) {
+    }
+}
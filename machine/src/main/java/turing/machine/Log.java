@@ -1,5 +1,6 @@
 package turing.machine;
 
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.function.Consumer;
 
@@ -33,12 +34,47 @@ public class Log {
         log(indent(msg(settings)));
     }
 
+    public void settings(MultiSettings settings) {
+        log("Machine Settings:");
+        log(indent(msg(settings)));
+    }
+
+    public void initialized(MultiMachine machine) {
+        log("Machine Initialized:");
+        log(indent(msg(machine)));
+    }
+
+    public void iteration(long iteration, MultiTransition transition, MultiMachine machine) {
+        log("Iteration: " + iteration);
+        log(indent("Applied Transition:"));
+        log(indent(indent(msg(transition))));
+        log(indent("Machine After Transition:"));
+        log(indent(indent(msg(machine))));
+    }
+
+    public void result(MultiMachine machine, Outcome outcome, String inputWord, long iterations, long time) {
+        switch (outcome) {
+            case ACCEPTED -> {
+                log("Machine Finished in Accepting State:");
+                log(indent("Computed word: " + machine.band(0).currentWord()));
+            }
+            case REJECTED -> log("Machine Finished in Non-Accepting State:");
+            default -> {
+                log("Machine Stopped: " + msg(outcome));
+                log(indent("State: " + machine.state()));
+            }
+        }
+        log(indent("Input word: " + inputWord));
+        log(indent("Iterations: " + iterations));
+        log(indent("Time: " + time + "ms"));
+    }
+
     public void initialized(Machine machine) {
         log("Machine Initialized:");
         log(indent(msg(machine)));
     }
 
-    public void iteration(int iteration, Transition transition, Machine machine) {
+    public void iteration(long iteration, Transition transition, Machine machine) {
         log("Iteration: " + iteration);
         log(indent("Applied Transition:"));
         log(indent(indent(msg(transition))));
@@ -46,19 +82,75 @@ public class Log {
         log(indent(indent(msg(machine))));
     }
 
-    public void result(Machine machine, String inputWord, int iterations, long time) {
-        if (machine.isInFinalState()) {
-            log("Machine Finished in Accepting State:");
-            log(indent("Computed word: " + machine.band().currentWord()));
-        } else {
-            log("Machine Finished in Non-Accepting State:");
+    public void result(Machine machine, String inputWord, long iterations, long time) {
+        result(machine, machine.isInFinalState() ? Outcome.ACCEPTED : Outcome.REJECTED, inputWord, iterations, time);
+    }
+
+    public void result(Machine machine, Outcome outcome, String inputWord, long iterations, long time) {
+        result(machine, outcome, inputWord, null, iterations, time);
+    }
+
+    public void result(Machine machine, Outcome outcome, String inputWord, Path wordFile, long iterations, long time) {
+        switch (outcome) {
+            case ACCEPTED -> {
+                log("Machine Finished in Accepting State:");
+                if (wordFile == null) {
+                    log(indent("Computed word: " + machine.band().currentWord()));
+                } else {
+                    log(indent("Computed word written to: " + wordFile));
+                }
+            }
+            case REJECTED -> log("Machine Finished in Non-Accepting State:");
+            default -> {
+                log("Machine Stopped: " + msg(outcome));
+                log(indent("State: " + machine.state()));
+            }
         }
         log(indent("Input word: " + inputWord));
         log(indent("Iterations: " + iterations));
         log(indent("Time: " + time + "ms"));
     }
 
-    public void abandoned(int iteration) {
+    public void searched(Search.Result result, String inputWord, long time) {
+        switch (result.outcome()) {
+            case ACCEPTED -> {
+                log("Machine Found Accepting Branch:");
+                log(indent("Computed word: " + result.word()));
+                log(indent("Accepting path:"));
+                log(indent(indent(msg(result.path()))));
+            }
+            case REJECTED -> log("Machine Finished in Non-Accepting State on Every Branch:");
+            default -> log("Machine Stopped: " + msg(result.outcome()));
+        }
+        log(indent("Input word: " + inputWord));
+        log(indent("Depth: " + result.depth()));
+        log(indent("Configurations: " + result.configurations()));
+        log(indent("Time: " + time + "ms"));
+    }
+
+    public void profile(Profile profile) {
+        log("Machine Profile:");
+        log(indent(msg(profile)));
+    }
+
+    public void trace(Trace trace) {
+        log("Machine Trace:");
+        log(indent("Input word: " + trace.word()));
+        log(indent("Result: " + msg(trace.outcome())));
+        log(indent("Iterations: " + trace.steps()));
+    }
+
+    public void replayed(long iteration, Machine machine) {
+        log("Machine After Iteration: " + iteration);
+        log(indent(msg(machine)));
+    }
+
+    public void resumed(long iteration, Machine machine) {
+        log("Machine Resumed After Iteration: " + iteration);
+        log(indent("State: " + machine.state()));
+    }
+
+    public void abandoned(long iteration) {
         log("Logging abandoned after " + iteration + "iterations. Machine still running...");
     }
 
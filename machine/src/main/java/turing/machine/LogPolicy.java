@@ -0,0 +1,106 @@
+package turing.machine;
+
+import static java.lang.String.format;
+
+public sealed interface LogPolicy {
+    String POLICIES = "all|every:<n>|backoff:<base>|last:<k>|range:<from>:<to>";
+
+    boolean logs(long iteration);
+
+    default long until() {
+        return Long.MAX_VALUE;
+    }
+
+    default int retained() {
+        return 0;
+    }
+
+    static LogPolicy parse(String policy) {
+        var parts = policy.split(":", -1);
+        try {
+            int fields = switch (parts[0]) {
+                case "all" -> 1;
+                case "range" -> 3;
+                default -> 2;
+            };
+            if (parts.length != fields) {
+                throw new IllegalStateException(format("Invalid log policy: %s", policy));
+            }
+            return switch (parts[0]) {
+                case "all" -> new Range(1, Long.MAX_VALUE);
+                case "every" -> new Every(Long.parseLong(parts[1]));
+                case "backoff" -> new Backoff(Long.parseLong(parts[1]));
+                case "last" -> new Last(Integer.parseInt(parts[1]));
+                case "range" -> new Range(Long.parseLong(parts[1]), Long.parseLong(parts[2]));
+                default -> throw new IllegalStateException(format("Invalid log policy: %s", policy));
+            };
+        } catch (RuntimeException e) {
+            throw new IllegalStateException(format("Invalid log policy: %s. Expected: %s", policy, POLICIES), e);
+        }
+    }
+
+    record Every(long step) implements LogPolicy {
+        public Every {
+            if (step < 1) {
+                throw new IllegalStateException(format("Log step must be positive: %d", step));
+            }
+        }
+
+        @Override
+        public boolean logs(long iteration) {
+            return iteration % step == 0;
+        }
+    }
+
+    record Backoff(long base) implements LogPolicy {
+        public Backoff {
+            if (base < 2) {
+                throw new IllegalStateException(format("Log backoff base must be at least 2: %d", base));
+            }
+        }
+
+        @Override
+        public boolean logs(long iteration) {
+            while (iteration % base == 0) {
+                iteration /= base;
+            }
+            return iteration == 1;
+        }
+    }
+
+    record Last(int count) implements LogPolicy {
+        public Last {
+            if (count < 1) {
+                throw new IllegalStateException(format("Logged iteration count must be positive: %d", count));
+            }
+        }
+
+        @Override
+        public boolean logs(long iteration) {
+            return false;
+        }
+
+        @Override
+        public int retained() {
+            return count;
+        }
+    }
+
+    record Range(long from, long to) implements LogPolicy {
+        public Range {
+            if (from < 1 || from > to) {
+                throw new IllegalStateException(format("Invalid log range: %d:%d", from, to));
+            }
+        }
+
+        @Override
+        public boolean logs(long iteration) {
+            return iteration >= from && iteration <= to;
+        }
+
+        @Override
+        public long until() {
+            return to;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package turing.machine;
+
+import static turing.machine.Program.NONE;
+
+final class LoggingKernel extends Kernel {
+    private final int[] table;
+    private final long[] finalStates;
+    private final int stride;
+    private final Kernel delegate;
+    private final AsyncLog log;
+    private final boolean retains;
+    private long remaining;
+
+    LoggingKernel(Program program, Kernel delegate, AsyncLog log, long logged, boolean retains) {
+        this.table = program.table();
+        this.finalStates = program.finalStates();
+        this.stride = program.symbolCount();
+        this.delegate = delegate;
+        this.log = log;
+        this.retains = retains;
+        this.remaining = logged;
+    }
+
+    @Override
+    public long run(Band band, long maxSteps) {
+        int state = this.state;
+        long steps = 0;
+        while (steps < maxSteps && remaining > 0 && (finalStates[state >>> 6] & (1L << state)) == 0) {
+            int symbol = band.readSymbol();
+            if (symbol >= stride) {
+                break;
+            }
+            int index = state * stride + symbol;
+            int action = table[index];
+            if (action == NONE) {
+                break;
+            }
+            if (retains) {
+                log.retain(index, band, state);
+            } else {
+                log.publish(index);
+            }
+            band.write(Program.writeSymbol(action), Program.move(action));
+            state = Program.nextState(action);
+            steps++;
+            remaining--;
+        }
+        log.flush();
+        if (remaining == 0 && steps < maxSteps) {
+            delegate.state = state;
+            steps += delegate.run(band, maxSteps - steps);
+            state = delegate.state;
+        }
+        this.state = state;
+        return steps;
+    }
+}
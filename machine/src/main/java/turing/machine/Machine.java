@@ -1,44 +1,243 @@
 package turing.machine;
 
+import java.nio.LongBuffer;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Map;
 import java.util.Set;
 
-import static java.util.Collections.emptyMap;
-import static java.util.function.Function.identity;
-import static java.util.stream.Collectors.groupingBy;
-import static java.util.stream.Collectors.toMap;
+import static java.lang.String.format;
+import static turing.machine.Program.NONE;
 
 public class Machine {
-    private final Band band = new Band();
-    private final Map<String, Map<Character, Transition>> transitions;
-    private final String startState;
-    private final Set<String> finalStates;
-    private volatile String state;
+    public static final long CHECK_INTERVAL = 1 << 16;
+    private static final Listener[] NO_LISTENERS = {};
+
+    private final Band band;
+    private final Program program;
+    private final Kernel kernel;
+    private volatile int state;
+    private volatile boolean cancelled;
+    private Listener[] listeners = NO_LISTENERS;
+    private Kernel counting;
+    private long[] entries;
+    private long capacity;
+    private int wordLength;
 
     public Machine(String startState, Set<String> finalStates, Collection<Transition> transitions) {
-        this.startState = startState;
-        this.finalStates = finalStates;
-        this.transitions = transitions.stream()
-                .collect(groupingBy(Transition::fromState, toMap(Transition::readChar, identity())));
+        this(Program.compile(startState, finalStates, transitions));
+    }
+
+    public Machine(Program program) {
+        this(program, Engine.TABLE);
+    }
+
+    public Machine(Program program, Engine engine) {
+        this(program, engine, Tape.ARRAY);
+    }
+
+    public Machine(Program program, Engine engine, Tape tape) {
+        this(program, engine.kernel(program), tape);
+    }
+
+    Machine(Program program, Kernel kernel) {
+        this(program, kernel, Tape.ARRAY);
+    }
+
+    Machine(Program program, Kernel kernel, Tape tape) {
+        this.program = program;
+        this.band = tape.band(program.symbols());
+        this.kernel = kernel;
     }
 
     public void init(String word) {
-        state = startState;
+        state = program.startState();
         band.reset(word);
+        wordLength = word.length();
+        cancelled = false;
+        capacity = band.capacity();
+        if (entries != null) {
+            Arrays.fill(entries, 0);
+            entries[state]++;
+        }
+    }
+
+    public void addListener(Listener listener) {
+        if (listener.countsStates() && !(kernel instanceof TableKernel)) {
+            throw new IllegalStateException("Counting state entries needs table engine");
+        }
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+        if (listener.countsStates() && entries == null) {
+            entries = new long[program.stateCount()];
+            entries[state]++;
+            counting = new CountingKernel(program, entries);
+        }
+    }
+
+    public void removeListener(Listener listener) {
+        listeners = Arrays.stream(listeners).filter(l -> l != listener).toArray(Listener[]::new);
+        if (Arrays.stream(listeners).noneMatch(Listener::countsStates)) {
+            entries = null;
+            counting = null;
+        }
     }
 
     public Transition proceed() {
-        var transition = transitions.getOrDefault(state, emptyMap()).get(band.read());
-        if (transition != null) {
-            band.write(transition.writeChar(), transition.moveDir());
-            state = transition.toState();
+        int index = index();
+        if (index == NONE) {
+            return null;
+        }
+        int action = program.action(index);
+        band.write(Program.writeSymbol(action), Program.move(action));
+        state = Program.nextState(action);
+        if (listeners.length > 0) {
+            if (entries != null) {
+                entries[state]++;
+            }
+            notify(1);
+        }
+        return program.transition(index);
+    }
+
+    Transition apply(int index) {
+        int action = program.action(index);
+        if (action == NONE) {
+            throw new IllegalStateException(format("No transition with index: %d", index));
         }
-        return transition;
+        band.write(Program.writeSymbol(action), Program.move(action));
+        state = Program.nextState(action);
+        return program.transition(index);
+    }
+
+    void restore(int state) {
+        this.state = state;
+    }
+
+    int stateId() {
+        return state;
+    }
+
+    public Transition transition() {
+        int index = index();
+        return index == NONE ? null : program.transition(index);
+    }
+
+    private int index() {
+        int symbol = band.readSymbol();
+        if (symbol >= program.symbolCount()) {
+            return NONE;
+        }
+        int index = program.index(state, symbol);
+        return program.action(index) == NONE ? NONE : index;
+    }
+
+    public long run(long maxSteps) {
+        var event = new Events.StepBatch();
+        long begin = event.isEnabled() ? System.nanoTime() : 0;
+        event.begin();
+        var kernel = counting == null ? this.kernel : counting;
+        kernel.state = state;
+        long steps = kernel.run(band, maxSteps);
+        state = kernel.state;
+        event.end();
+        if (event.shouldCommit()) {
+            event.steps = steps;
+            event.stepsPerSecond = (long) (steps * 1e9 / Math.max(1, System.nanoTime() - begin));
+            event.headPosition = band.position();
+            event.commit();
+        }
+        if (listeners.length > 0) {
+            notify(steps);
+        }
+        return steps;
+    }
+
+    public Run run(Limits limits) {
+        var start = new Events.RunStart();
+        if (start.shouldCommit()) {
+            start.hash = program.hash();
+            start.wordLength = wordLength;
+            start.tapeLength = tapeLength();
+            start.commit();
+        }
+        var event = new Events.RunEnd();
+        event.begin();
+        var run = execute(limits);
+        event.end();
+        if (event.shouldCommit()) {
+            event.hash = program.hash();
+            event.wordLength = wordLength;
+            event.outcome = run.outcome().name();
+            event.iterations = run.steps();
+            event.tapeLength = tapeLength();
+            event.commit();
+        }
+        for (var listener : listeners) {
+            listener.halted(run);
+        }
+        return run;
+    }
+
+    private long tapeLength() {
+        return Math.max(0, (long) band.rightmost() - band.leftmost() + 1);
+    }
+
+    private void notify(long steps) {
+        long capacity = band.capacity();
+        for (var listener : listeners) {
+            listener.steps(steps);
+            if (capacity != this.capacity) {
+                listener.bandGrown(capacity);
+            }
+            if (entries != null && listener.countsStates()) {
+                listener.stateEntries(LongBuffer.wrap(entries).asReadOnlyBuffer());
+            }
+        }
+        this.capacity = capacity;
+    }
+
+    private Run execute(Limits limits) {
+        band.limit(limits.maxTapeSize());
+        try {
+            long start = System.nanoTime();
+            long nextCheck = 0;
+            long steps = 0;
+            while (!isInFinalState()) {
+                int index = index();
+                if (index == NONE) {
+                    return new Run(Outcome.REJECTED, steps);
+                }
+                if (cancelled || Thread.currentThread().isInterrupted()) {
+                    return new Run(Outcome.CANCELLED, steps);
+                }
+                if (steps >= limits.maxSteps()) {
+                    return new Run(Outcome.STEP_LIMIT, steps);
+                }
+                if (steps >= nextCheck) {
+                    if (limits.expired(start, System.nanoTime())) {
+                        return new Run(Outcome.TIMEOUT, steps);
+                    }
+                    nextCheck = steps + CHECK_INTERVAL;
+                }
+                long chunk = Math.min(CHECK_INTERVAL, limits.maxSteps() - steps);
+                long headroom = band.headroom();
+                if (headroom == 0 && !band.canMove(Program.move(program.action(index)))) {
+                    return new Run(Outcome.OUT_OF_TAPE, steps);
+                }
+                steps += run(Math.min(chunk, Math.max(1, headroom)));
+            }
+            return new Run(Outcome.ACCEPTED, steps);
+        } finally {
+            band.limit(Band.MAX_SIZE);
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
     }
 
     public boolean isInFinalState() {
-        return finalStates.contains(state);
+        return program.isFinal(state);
     }
 
     public Band band() {
@@ -46,6 +245,10 @@ public class Machine {
     }
 
     public String state() {
-        return state;
+        return program.state(state);
+    }
+
+    public Program program() {
+        return program;
     }
 }
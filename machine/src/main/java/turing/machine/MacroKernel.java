@@ -0,0 +1,224 @@
+package turing.machine;
+
+import static turing.machine.Program.NONE;
+
+final class MacroKernel extends Kernel {
+    static final int MAX_BLOCK_SIZE = 32;
+    private static final int MAX_BLOCK_STEPS = 1 << 16;
+    private static final int MAX_CACHE_SIZE = 1 << 20;
+    private static final int SAMPLE_WINDOW = 1 << 12;
+    private static final int MIN_STEPS_PER_BLOCK = 8;
+    private static final int PLAIN_STEPS = 1 << 20;
+
+    private final int[] table;
+    private final long[] finalStates;
+    private final int stride;
+    private final int bits;
+    private final long mask;
+    private final int blockSize;
+    private final BlockCache cache = new BlockCache();
+
+    private long contents;
+    private int offset;
+    private int blocks;
+    private long blockSteps;
+    private long plainSteps;
+
+    MacroKernel(Program program) {
+        this.table = program.table();
+        this.finalStates = program.finalStates();
+        this.stride = program.symbolCount();
+        this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(stride - 1));
+        this.mask = (1L << bits) - 1;
+        this.blockSize = Math.min(MAX_BLOCK_SIZE, (Long.SIZE - 1) / bits);
+    }
+
+    @Override
+    public long run(Band band, long maxSteps) {
+        if (band.symbolCount() > stride) {
+            return runSteps(band, maxSteps);
+        }
+        long steps = 0;
+        while (steps < maxSteps && !isFinal(state)) {
+            if (plainSteps > 0) {
+                long limit = Math.min(plainSteps, maxSteps - steps);
+                long taken = runSteps(band, limit);
+                plainSteps -= taken;
+                steps += taken;
+                if (taken < limit) {
+                    break;
+                }
+                continue;
+            }
+            int position = band.position();
+            offset = Math.floorMod(position, blockSize);
+            int start = position - offset;
+            contents = band.readBlock(start, blockSize, bits);
+            long original = contents;
+            int entryState = state;
+            int entryOffset = offset;
+            long limit = Math.min(maxSteps - steps, MAX_BLOCK_STEPS);
+            long taken;
+            int slot = cache.find(original, entryState, entryOffset);
+            if (slot != NONE && cache.steps(slot) <= limit) {
+                contents = cache.contents(slot);
+                state = cache.state(slot);
+                offset = cache.offset(slot);
+                taken = cache.steps(slot);
+            } else {
+                taken = simulate(limit);
+                if (slot == NONE && (isOutside(offset) || taken < limit)) {
+                    cache.put(original, entryState, entryOffset, contents, state, offset, taken);
+                }
+            }
+            writeBlock(band, start, original);
+            band.moveTo(start + offset);
+            steps += taken;
+            blockSteps += taken;
+            if (++blocks == SAMPLE_WINDOW) {
+                plainSteps = blockSteps < (long) MIN_STEPS_PER_BLOCK * SAMPLE_WINDOW ? PLAIN_STEPS : 0;
+                blocks = 0;
+                blockSteps = 0;
+            }
+            if (!isOutside(offset) && taken < limit) {
+                break;
+            }
+        }
+        return steps;
+    }
+
+    private long runSteps(Band band, long maxSteps) {
+        long steps = 0;
+        while (steps < maxSteps && !isFinal(state)) {
+            int symbol = band.readSymbol();
+            int action = symbol < stride ? table[state * stride + symbol] : NONE;
+            if (action == NONE) {
+                break;
+            }
+            band.write(Program.writeSymbol(action), Program.move(action));
+            state = Program.nextState(action);
+            steps++;
+        }
+        return steps;
+    }
+
+    private long simulate(long limit) {
+        long steps = 0;
+        while (steps < limit && !isOutside(offset) && !isFinal(state)) {
+            int shift = offset * bits;
+            int symbol = (int) ((contents >>> shift) & mask);
+            int action = table[state * stride + symbol];
+            if (action == NONE) {
+                break;
+            }
+            contents = contents & ~(mask << shift) | (long) Program.writeSymbol(action) << shift;
+            offset += Program.move(action) == Band.MOVE_RIGHT ? 1 : -1;
+            state = Program.nextState(action);
+            steps++;
+        }
+        return steps;
+    }
+
+    private void writeBlock(Band band, int start, long original) {
+        long changed = contents ^ original;
+        for (int i = 0; changed != 0 && i < blockSize; i++, changed >>>= bits) {
+            if ((changed & mask) != 0) {
+                band.writeAt(start + i, (int) ((contents >>> i * bits) & mask));
+            }
+        }
+    }
+
+    private boolean isOutside(int offset) {
+        return offset < 0 || offset >= blockSize;
+    }
+
+    private boolean isFinal(int state) {
+        return (finalStates[state >>> 6] & (1L << state)) != 0;
+    }
+
+    private static final class BlockCache {
+        private static final int ENTRY = 4;
+
+        private long[] entries;
+        private int capacity;
+        private int size;
+
+        BlockCache() {
+            allocate(1 << 10);
+        }
+
+        int find(long block, int state, int offset) {
+            long key = key(state, offset);
+            int mask = capacity - 1;
+            for (int slot = hash(block, key) & mask; entries[slot * ENTRY + 1] != 0; slot = (slot + 1) & mask) {
+                if (entries[slot * ENTRY] == block && entries[slot * ENTRY + 1] == key) {
+                    return slot * ENTRY;
+                }
+            }
+            return NONE;
+        }
+
+        long contents(int entry) {
+            return entries[entry + 2];
+        }
+
+        int state(int entry) {
+            return (int) (entries[entry + 3] >>> 40);
+        }
+
+        int offset(int entry) {
+            return (int) (entries[entry + 3] >>> 32 & 0xFF) - 1;
+        }
+
+        long steps(int entry) {
+            return entries[entry + 3] & 0xFFFFFFFFL;
+        }
+
+        void put(long block, int state, int offset, long newBlock, int newState, int newOffset, long taken) {
+            if (size == MAX_CACHE_SIZE) {
+                allocate(capacity);
+            } else if (2 * (size + 1) > capacity) {
+                rehash();
+            }
+            insert(block, key(state, offset), newBlock, (long) newState << 40 | (long) (newOffset + 1) << 32 | taken);
+        }
+
+        private void insert(long block, long key, long newBlock, long result) {
+            int mask = capacity - 1;
+            int slot = hash(block, key) & mask;
+            while (entries[slot * ENTRY + 1] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            entries[slot * ENTRY] = block;
+            entries[slot * ENTRY + 1] = key;
+            entries[slot * ENTRY + 2] = newBlock;
+            entries[slot * ENTRY + 3] = result;
+            size++;
+        }
+
+        private void rehash() {
+            var oldEntries = entries;
+            allocate(2 * capacity);
+            for (int i = 0; i < oldEntries.length; i += ENTRY) {
+                if (oldEntries[i + 1] != 0) {
+                    insert(oldEntries[i], oldEntries[i + 1], oldEntries[i + 2], oldEntries[i + 3]);
+                }
+            }
+        }
+
+        private void allocate(int capacity) {
+            this.entries = new long[capacity * ENTRY];
+            this.capacity = capacity;
+            this.size = 0;
+        }
+
+        private static long key(int state, int offset) {
+            return (long) (state + 1) << 8 | offset;
+        }
+
+        private static int hash(long block, long key) {
+            long h = (block ^ key * 0xC2B2AE3D27D4EB4FL) * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ h >>> 32);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package turing.machine;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.DELETE_ON_CLOSE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+public class MappedBand extends Band implements AutoCloseable {
+    public static final int CHUNK_BITS = 26;
+    public static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    public static final long MAX_CELLS = 1L << 32;
+    private static final long ORIGIN = MAX_CELLS / 2;
+    private static final int MAX_VIEW_SIZE = 1 << 20;
+    private static final int VIEW_SIZE = 1 << 10;
+
+    private final Path directory;
+    private final MappedByteBuffer[] chunks = new MappedByteBuffer[(int) (MAX_CELLS >>> CHUNK_BITS)];
+    private FileChannel channel;
+    private MappedByteBuffer chunk;
+    private int chunkIndex;
+    private int mapped;
+    private int offset;
+    private int position;
+    private int left;
+    private int right;
+    private int low;
+    private int high;
+    private long maxSize = MAX_CELLS;
+
+    public MappedBand() {
+        this(new char[]{EMPTY_CHARACTER});
+    }
+
+    public MappedBand(char[] symbols) {
+        this(symbols, Path.of(System.getProperty("java.io.tmpdir")));
+    }
+
+    public MappedBand(char[] symbols, Path directory) {
+        super(symbols);
+        this.directory = directory;
+    }
+
+    @Override
+    public void reset(String word) {
+        close();
+        try {
+            var path = Files.createTempFile(directory, "turing-band", ".bin");
+            channel = FileChannel.open(path, READ, WRITE, DELETE_ON_CLOSE);
+        } catch (IOException e) {
+            throw new IllegalStateException("Band file error", e);
+        }
+        left = 0;
+        right = word.length() - 1;
+        low = 0;
+        high = Math.max(0, right);
+        for (int i = 0; i < word.length(); i++) {
+            map(chunk(i)).put(offset(i), (byte) symbolId(word.charAt(i)));
+        }
+        moveTo(0);
+    }
+
+    @Override
+    public int readSymbol() {
+        return chunk == null ? EMPTY_SYMBOL : chunk.get(offset) & 0xFF;
+    }
+
+    @Override
+    public void write(int symbol, int move) {
+        if (symbol != EMPTY_SYMBOL) {
+            if (chunk == null) {
+                chunk = map(chunkIndex);
+            }
+            chunk.put(offset, (byte) symbol);
+            if (position < left) left = position;
+            if (position > right) right = position;
+        } else if (chunk != null) {
+            chunk.put(offset, (byte) symbol);
+        }
+        if (move == MOVE_RIGHT) {
+            if (++position > high) high = position;
+            if (++offset == CHUNK_SIZE) {
+                if (position == Integer.MIN_VALUE) {
+                    position--;
+                    offset--;
+                    throw exceeded();
+                }
+                moveTo(position);
+            }
+        } else {
+            if (--position < low) low = position;
+            if (--offset == -1) {
+                if (position == Integer.MAX_VALUE) {
+                    position++;
+                    offset++;
+                    throw exceeded();
+                }
+                moveTo(position);
+            }
+        }
+    }
+
+    @Override
+    public int symbolAt(int position) {
+        var cells = chunks[chunk(position)];
+        return cells == null ? EMPTY_SYMBOL : cells.get(offset(position)) & 0xFF;
+    }
+
+    @Override
+    void writeAt(int position, int symbol) {
+        if (symbol != EMPTY_SYMBOL) {
+            map(chunk(position)).put(offset(position), (byte) symbol);
+            if (position < left) left = position;
+            if (position > right) right = position;
+            moveTo(this.position);
+        } else if (chunks[chunk(position)] != null) {
+            chunks[chunk(position)].put(offset(position), (byte) symbol);
+        }
+    }
+
+    @Override
+    void moveTo(int position) {
+        this.position = position;
+        if (position < low) low = position;
+        if (position > high) high = position;
+        chunkIndex = chunk(position);
+        chunk = chunks[chunkIndex];
+        offset = offset(position);
+    }
+
+    @Override
+    int leftmost() {
+        return left;
+    }
+
+    @Override
+    int rightmost() {
+        return right;
+    }
+
+    @Override
+    void limit(int maxSize) {
+        this.maxSize = maxSize == MAX_SIZE ? MAX_CELLS : maxSize;
+    }
+
+    @Override
+    long headroom() {
+        long edge = Math.min((long) Integer.MAX_VALUE - position, (long) position - Integer.MIN_VALUE);
+        return Math.max(0, Math.min(edge, maxSize - ((long) high - low + 1)));
+    }
+
+    @Override
+    boolean canMove(int move) {
+        long target = move == MOVE_RIGHT ? (long) position + 1 : (long) position - 1;
+        if (target < Integer.MIN_VALUE || target > Integer.MAX_VALUE) {
+            return false;
+        }
+        return target >= low && target <= high || (long) high - low + 2 <= maxSize;
+    }
+
+    @Override
+    public int headPos() {
+        return position - viewStart();
+    }
+
+    @Override
+    public int position() {
+        return position;
+    }
+
+    @Override
+    public String bandStr() {
+        return cells(viewStart(), viewEnd());
+    }
+
+    @Override
+    public String bandStr(int start, int end) {
+        return cells(viewStart() + Math.max(0, start), viewStart() + Math.min(length(), end));
+    }
+
+    @Override
+    public int length() {
+        return viewEnd() - viewStart();
+    }
+
+    @Override
+    long capacity() {
+        return (long) mapped * CHUNK_SIZE;
+    }
+
+    public long size() {
+        return (long) high - low + 1;
+    }
+
+    @Override
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Band file error", e);
+            }
+            channel = null;
+        }
+        Arrays.fill(chunks, null);
+        chunk = null;
+        mapped = 0;
+    }
+
+    private MappedByteBuffer map(int index) {
+        if (chunks[index] == null) {
+            try {
+                chunks[index] = channel.map(READ_WRITE, (long) index << CHUNK_BITS, CHUNK_SIZE);
+                mapped++;
+            } catch (IOException e) {
+                throw new IllegalStateException("Band mapping error", e);
+            }
+        }
+        return chunks[index];
+    }
+
+    private static IllegalStateException exceeded() {
+        return new IllegalStateException(format("Band size limit exceeded. Max: %d", MAX_CELLS));
+    }
+
+    private int viewStart() {
+        return size() <= MAX_VIEW_SIZE ? low : (int) Math.max(Integer.MIN_VALUE, (long) position - VIEW_SIZE);
+    }
+
+    private int viewEnd() {
+        return size() <= MAX_VIEW_SIZE ? Math.max(high + 1, low + INITIAL_SIZE) : (int) Math.min(Integer.MAX_VALUE, (long) position + VIEW_SIZE);
+    }
+
+    private static int chunk(int position) {
+        return (int) ((position + ORIGIN) >>> CHUNK_BITS);
+    }
+
+    private static int offset(int position) {
+        return (int) ((position + ORIGIN) & CHUNK_SIZE - 1);
+    }
+}
@@ -1,18 +1,32 @@
 package turing.machine;
 
-import java.util.List;
+import java.util.Comparator;
+import java.util.stream.IntStream;
 
 import static java.lang.String.format;
 
 public interface Msg {
+    String INDENT = "    ";
     String BAND_FORMAT = "%s%n%s^";
     String MACHINE_FORMAT = "State: %s%nBand:%n%s";
     String SETTINGS_FORMAT = "Band Alphabet: %s%nInput Alphabet: %s%nWord: %s%n" +
             "States: %s%nStart State: %s%nFinal States: %s%n" +
             "Transitions: (Count=%d)%n%s";
+    String MULTI_SETTINGS_FORMAT = "Band Alphabet: %s%nInput Alphabet: %s%nWord: %s%n" +
+            "States: %s%nStart State: %s%nFinal States: %s%nTapes: %d%n" +
+            "Transitions: (Count=%d)%n%s";
     String TRANSITION_FORMAT = "%-6s".repeat(5);
     String TRANSITION_HEAD = format(TRANSITION_FORMAT, "From", "To", "Read", "Write", "Move");
     String TRANSITION_NEXT_FORMAT = "%n" + TRANSITION_FORMAT;
+    String PROFILE_FORMAT = "%-14s" + TRANSITION_FORMAT;
+    String PROFILE_HEAD = format(PROFILE_FORMAT, "Count", "From", "To", "Read", "Write", "Move");
+    String PROFILE_NEXT_FORMAT = "%n" + PROFILE_FORMAT;
+    String COUNT_FORMAT = "%n%-14s%s";
+    String HISTOGRAM_FORMAT = "%n%-14d%-14d%-14d%s";
+    int HISTOGRAM_BAR = 40;
+    String RESULT_FORMAT = "%s\t%s\t%s\t%s\t%s\t%s";
+    String PERIOD_FORMAT = "%s (Period: %d)";
+    String RESULT_HEAD = format(RESULT_FORMAT, "Input", "Word", "Result", "Iterations", "Computed Word", "Time");
 
     static String msg(Throwable error) {
         return error.getCause() == null ? error.toString() : format("%s%n%s", error, msg(error.getCause()));
@@ -32,6 +46,60 @@ public interface Msg {
                 indent(msg(settings.transitions())));
     }
 
+    static String msg(MultiMachine machine) {
+        var sb = new StringBuilder("State: ").append(machine.state());
+        for (int i = 0; i < machine.tapes(); i++) {
+            sb.append(format("%nTape %d:%n", i + 1)).append(indent(msg(machine.band(i))));
+        }
+        return sb.toString();
+    }
+
+    static String msg(MultiSettings settings) {
+        var sb = new StringBuilder(TRANSITION_HEAD);
+        for (var t : settings.transitions()) {
+            sb.append(format(TRANSITION_NEXT_FORMAT, t.fromState(), t.toState(), t.readChars(), t.writeChars(),
+                    t.moveDirs()));
+        }
+        return format(MULTI_SETTINGS_FORMAT, settings.bandAlphabet(), settings.inputAlphabet(), settings.word(),
+                settings.states(), settings.startState(), settings.finalStates(), settings.tapes(),
+                settings.transitions().size(), indent(sb.toString()));
+    }
+
+    static String msg(MultiTransition transition) {
+        return TRANSITION_HEAD + format(TRANSITION_NEXT_FORMAT, transition.fromState(), transition.toState(),
+                transition.readChars(), transition.writeChars(), transition.moveDirs());
+    }
+
+    static String msg(Profile profile) {
+        var sb = new StringBuilder("Hot Transitions:");
+        var table = new StringBuilder(PROFILE_HEAD);
+        for (var hot : profile.hot(Profile.HOT_TRANSITIONS)) {
+            var t = hot.transition();
+            table.append(format(PROFILE_NEXT_FORMAT, hot.count(), t.fromState(), t.toState(), t.readChar(),
+                    t.writeChar(), t.moveDir()));
+        }
+        sb.append(format("%n%s%nState Visits:", indent(table.toString())));
+        var visits = profile.stateVisits();
+        var states = new StringBuilder(format("%-14s%s", "State", "Visits"));
+        IntStream.range(0, visits.length).boxed().filter(i -> visits[i] > 0)
+                .sorted(Comparator.comparingLong(i -> -visits[i]))
+                .forEach(i -> states.append(format(COUNT_FORMAT, profile.program().state(i), visits[i])));
+        sb.append(format("%n%s%nHead Positions:", indent(states.toString())));
+        var histogram = profile.histogram(Profile.HISTOGRAM_ROWS);
+        long max = histogram.stream().mapToLong(Profile.Bucket::count).max().orElse(1);
+        var positions = new StringBuilder(format("%-14s%-14s%s", "From", "To", "Visits"));
+        for (var bucket : histogram) {
+            positions.append(format(HISTOGRAM_FORMAT, bucket.from(), bucket.to(), bucket.count(),
+                    "*".repeat((int) (HISTOGRAM_BAR * bucket.count() / Math.max(1, max)))));
+        }
+        sb.append(format("%n%s%nTape Span:", indent(positions.toString())));
+        var spans = new StringBuilder(format("%-14s%s", "Step", "Span"));
+        for (var sample : profile.spans()) {
+            spans.append(format(COUNT_FORMAT, sample.step(), sample.span()));
+        }
+        return sb.append(format("%n%s", indent(spans.toString()))).toString();
+    }
+
     static String msg(Iterable<Transition> transitions) {
         StringBuilder sb = new StringBuilder(TRANSITION_HEAD);
         for (Transition t : transitions) {
@@ -40,11 +108,41 @@ public interface Msg {
         return sb.toString();
     }
 
+    static String msg(Batch.Result result) {
+        var outcome = result.outcome() == Outcome.NEVER_HALTS
+                ? format(PERIOD_FORMAT, msg(result.outcome()), result.period()) : msg(result.outcome());
+        var computedWord = result.outcome() == Outcome.ACCEPTED ? result.computedWord() : "-";
+        return format(RESULT_FORMAT, result.job().input(), result.job().word(), outcome, result.iterations(),
+                computedWord, result.time() + "ms");
+    }
+
+    static String msg(Outcome outcome) {
+        return switch (outcome) {
+            case ACCEPTED -> "Accepting";
+            case REJECTED -> "Non-Accepting";
+            case STEP_LIMIT -> "Step Limit Exceeded";
+            case TIMEOUT -> "Timeout";
+            case OUT_OF_TAPE -> "Band Size Limit Exceeded";
+            case CANCELLED -> "Cancelled";
+            case NEVER_HALTS -> "Never Halts";
+            case OUT_OF_MEMORY -> "Memory Limit Exceeded";
+        };
+    }
+
     static String msg(Transition transition) {
-        return msg(List.of(transition));
+        return TRANSITION_HEAD + format(TRANSITION_NEXT_FORMAT, transition.fromState(), transition.toState(),
+                transition.readChar(), transition.writeChar(), transition.moveDir());
     }
 
     static String indent(String s) {
-        return s.replaceAll("(?m)^", "    ");
+        var sb = new StringBuilder(s.length() + 16).append(INDENT);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            sb.append(c);
+            if (c == '\n' && i + 1 < s.length()) {
+                sb.append(INDENT);
+            }
+        }
+        return sb.toString();
     }
 }
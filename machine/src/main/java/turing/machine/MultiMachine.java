@@ -0,0 +1,151 @@
+package turing.machine;
+
+import java.util.function.ObjLongConsumer;
+
+import static turing.machine.MultiProgram.MOVE_STAY;
+import static turing.machine.Program.NONE;
+
+public class MultiMachine {
+    private final MultiProgram program;
+    private final Band[] bands;
+    private volatile int state;
+    private volatile boolean cancelled;
+
+    public MultiMachine(MultiProgram program) {
+        this(program, Tape.ARRAY);
+    }
+
+    public MultiMachine(MultiProgram program, Tape tape) {
+        this.program = program;
+        this.bands = new Band[program.tapes()];
+        for (int i = 0; i < bands.length; i++) {
+            bands[i] = tape.band(program.symbols());
+        }
+    }
+
+    public void init(String word) {
+        state = program.startState();
+        bands[0].reset(word);
+        for (int i = 1; i < bands.length; i++) {
+            bands[i].reset("");
+        }
+        cancelled = false;
+    }
+
+    public MultiTransition proceed() {
+        int transition = lookup();
+        if (transition == NONE) {
+            return null;
+        }
+        apply(transition);
+        return program.transition(transition);
+    }
+
+    public MultiTransition transition() {
+        int transition = lookup();
+        return transition == NONE ? null : program.transition(transition);
+    }
+
+    public Run run(Limits limits) {
+        return run(limits, null);
+    }
+
+    public Run run(Limits limits, ObjLongConsumer<MultiTransition> stepped) {
+        for (var band : bands) {
+            band.limit(limits.maxTapeSize());
+        }
+        try {
+            long start = System.nanoTime();
+            long steps = 0;
+            while (!isInFinalState()) {
+                int transition = lookup();
+                if (transition == NONE) {
+                    return new Run(Outcome.REJECTED, steps);
+                }
+                if (steps % Machine.CHECK_INTERVAL == 0) {
+                    if (cancelled || Thread.currentThread().isInterrupted()) {
+                        return new Run(Outcome.CANCELLED, steps);
+                    }
+                    if (limits.expired(start, System.nanoTime())) {
+                        return new Run(Outcome.TIMEOUT, steps);
+                    }
+                }
+                if (steps >= limits.maxSteps()) {
+                    return new Run(Outcome.STEP_LIMIT, steps);
+                }
+                if (!canApply(transition)) {
+                    return new Run(Outcome.OUT_OF_TAPE, steps);
+                }
+                apply(transition);
+                steps++;
+                if (stepped != null) {
+                    stepped.accept(program.transition(transition), steps);
+                }
+            }
+            return new Run(Outcome.ACCEPTED, steps);
+        } finally {
+            for (var band : bands) {
+                band.limit(Band.MAX_SIZE);
+            }
+        }
+    }
+
+    private int lookup() {
+        int index = state;
+        for (var band : bands) {
+            int symbol = band.readSymbol();
+            if (symbol >= program.symbolCount()) {
+                return NONE;
+            }
+            index = index * program.symbolCount() + symbol;
+        }
+        return program.lookup(index);
+    }
+
+    private boolean canApply(int transition) {
+        for (int i = 0; i < bands.length; i++) {
+            int move = program.move(transition, i);
+            if (move != MOVE_STAY && bands[i].headroom() == 0 && !bands[i].canMove(move)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void apply(int transition) {
+        for (int i = 0; i < bands.length; i++) {
+            int symbol = program.writeSymbol(transition, i);
+            int move = program.move(transition, i);
+            if (move == MOVE_STAY) {
+                bands[i].writeAt(bands[i].position(), symbol);
+            } else {
+                bands[i].write(symbol, move);
+            }
+        }
+        state = program.nextState(transition);
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isInFinalState() {
+        return program.isFinal(state);
+    }
+
+    public int tapes() {
+        return bands.length;
+    }
+
+    public Band band(int tape) {
+        return bands[tape];
+    }
+
+    public String state() {
+        return program.state(state);
+    }
+
+    public MultiProgram program() {
+        return program;
+    }
+}
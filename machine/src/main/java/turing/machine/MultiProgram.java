@@ -0,0 +1,165 @@
+package turing.machine;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static turing.machine.Program.NONE;
+
+public final class MultiProgram {
+    public static final int MAX_TAPES = 8;
+    public static final int MAX_TABLE_SIZE = 1 << 24;
+    public static final int MOVE_STAY = 2;
+
+    private final String[] states;
+    private final char[] symbols;
+    private final int[] symbolIds;
+    private final int tapes;
+    private final int startState;
+    private final long[] finalStates;
+    private final int[] table;
+    private final int[] nextStates;
+    private final byte[] writes;
+    private final byte[] moves;
+    private final MultiTransition[] transitions;
+
+    private MultiProgram(String[] states, char[] symbols, int tapes, String startState, Set<String> finalStates,
+                         Collection<MultiTransition> transitions) {
+        if (symbols.length > Band.MAX_SYMBOLS) {
+            throw new IllegalStateException(
+                    format("Too many symbols: %d. Max: %d", symbols.length, Band.MAX_SYMBOLS));
+        }
+        long size = states.length;
+        for (int i = 0; i < tapes; i++) {
+            size *= symbols.length;
+            if (size > MAX_TABLE_SIZE) {
+                throw new IllegalStateException(format("Too many state and symbol combinations for %d tapes. " +
+                        "Max: %d", tapes, MAX_TABLE_SIZE));
+            }
+        }
+        this.states = states;
+        this.symbols = symbols;
+        int maxChar = 0;
+        for (char symbol : symbols) {
+            maxChar = Math.max(maxChar, symbol);
+        }
+        this.symbolIds = new int[maxChar + 1];
+        Arrays.fill(symbolIds, NONE);
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIds[symbols[i]] = i;
+        }
+        this.tapes = tapes;
+        this.startState = stateId(startState);
+        this.finalStates = new long[(states.length + 63) >>> 6];
+        for (var state : finalStates) {
+            int id = stateId(state);
+            this.finalStates[id >>> 6] |= 1L << id;
+        }
+        this.table = new int[(int) size];
+        Arrays.fill(table, NONE);
+        this.nextStates = new int[transitions.size()];
+        this.writes = new byte[transitions.size() * tapes];
+        this.moves = new byte[transitions.size() * tapes];
+        this.transitions = new MultiTransition[transitions.size()];
+        int id = 0;
+        for (var transition : transitions) {
+            int index = stateId(transition.fromState());
+            for (int i = 0; i < tapes; i++) {
+                index = index * symbols.length + symbolId(transition.readChars().charAt(i));
+            }
+            if (table[index] != NONE) {
+                throw new IllegalStateException(
+                        format("Non deterministic. Multiple transitions from \"%s\" reading \"%s\"",
+                                transition.fromState(), transition.readChars()));
+            }
+            table[index] = id;
+            nextStates[id] = stateId(transition.toState());
+            for (int i = 0; i < tapes; i++) {
+                writes[id * tapes + i] = (byte) symbolId(transition.writeChars().charAt(i));
+                moves[id * tapes + i] = (byte) move(transition.moveDirs().charAt(i));
+            }
+            this.transitions[id++] = transition;
+        }
+    }
+
+    public static MultiProgram compile(MultiSettings settings) {
+        var symbols = Stream.of(settings.bandAlphabet(), settings.inputAlphabet(), settings.word().chars()
+                        .mapToObj(c -> (char) c).toList())
+                .flatMap(Collection::stream);
+        var states = Stream.of(settings.states(), Set.of(settings.startState()), settings.finalStates())
+                .flatMap(Collection::stream);
+        return new MultiProgram(Program.internStates(states), Program.internSymbols(symbols), settings.tapes(),
+                settings.startState(), settings.finalStates(), settings.transitions());
+    }
+
+    public static int move(char move) {
+        return switch (move) {
+            case 'L', 'l' -> Band.MOVE_LEFT;
+            case 'P', 'p' -> Band.MOVE_RIGHT;
+            case 'S', 's' -> MOVE_STAY;
+            default -> throw new IllegalStateException("Invalid move direction: " + move);
+        };
+    }
+
+    public int tapes() {
+        return tapes;
+    }
+
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    public int startState() {
+        return startState;
+    }
+
+    public String state(int id) {
+        return states[id];
+    }
+
+    public int stateId(String state) {
+        int id = Arrays.binarySearch(states, state);
+        if (id < 0) {
+            throw new IllegalStateException(format("Unknown state: \"%s\"", state));
+        }
+        return id;
+    }
+
+    public int symbolId(char character) {
+        int id = character < symbolIds.length ? symbolIds[character] : NONE;
+        if (id == NONE) {
+            throw new IllegalStateException(format("Unknown symbol: \"%s\"", character));
+        }
+        return id;
+    }
+
+    public boolean isFinal(int state) {
+        return (finalStates[state >>> 6] & 1L << state) != 0;
+    }
+
+    public int lookup(int index) {
+        return table[index];
+    }
+
+    public int nextState(int transition) {
+        return nextStates[transition];
+    }
+
+    public int writeSymbol(int transition, int tape) {
+        return writes[transition * tapes + tape] & 0xFF;
+    }
+
+    public int move(int transition, int tape) {
+        return moves[transition * tapes + tape];
+    }
+
+    public MultiTransition transition(int transition) {
+        return transitions[transition];
+    }
+
+    char[] symbols() {
+        return symbols;
+    }
+}
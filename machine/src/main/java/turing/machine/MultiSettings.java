@@ -0,0 +1,132 @@
+package turing.machine;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.toSet;
+import static turing.machine.Settings.expectHeader;
+import static turing.machine.Settings.validateCharacter;
+import static turing.machine.Settings.validateState;
+
+public record MultiSettings(
+        Set<Character> bandAlphabet,
+        Set<Character> inputAlphabet,
+        String word,
+        Set<String> states,
+        String startState,
+        Set<String> finalStates,
+        int tapes,
+        Set<MultiTransition> transitions
+) {
+    public static final String TAPES_HEADER = "liczba tasm:";
+    private static final int TAPES_LINE = 12;
+
+    public static boolean isMultiTape(Path path, Charset charset) {
+        try (var reader = Files.newBufferedReader(path, charset)) {
+            String line = null;
+            for (int i = 0; i <= TAPES_LINE; i++) {
+                line = reader.readLine();
+            }
+            return TAPES_HEADER.equals(line);
+        } catch (IOException e) {
+            throw new IllegalStateException("Input reading error", e);
+        }
+    }
+
+    public static MultiSettings parse(Path path, Charset charset) {
+        try (var reader = Files.newBufferedReader(path, charset)) {
+            return parse(reader);
+        } catch (Exception e) {
+            throw new IllegalStateException("Input parsing error", e);
+        }
+    }
+
+    public static MultiSettings parse(InputStream inputStream, Charset charset) {
+        try (var reader = new BufferedReader(new InputStreamReader(inputStream, charset))) {
+            return parse(reader);
+        } catch (Exception e) {
+            throw new IllegalStateException("Input parsing error", e);
+        }
+    }
+
+    private static MultiSettings parse(BufferedReader reader) throws IOException {
+        expectHeader(reader.readLine(), "alfabet tasmowy:");
+        var bandAlphabet = reader.readLine().chars().mapToObj(i -> (char) i).collect(toSet());
+
+        expectHeader(reader.readLine(), "alfabet wejsciowy:");
+        var inputAlphabet = reader.readLine().chars().mapToObj(i -> (char) i).collect(toSet());
+
+        expectHeader(reader.readLine(), "slowo wejsciowe:");
+        var word = reader.readLine();
+
+        expectHeader(reader.readLine(), "stany:");
+        var states = Arrays.stream(reader.readLine().split(" ")).collect(toSet());
+
+        expectHeader(reader.readLine(), "stan poczatkowy:");
+        var startState = reader.readLine();
+
+        expectHeader(reader.readLine(), "stany akceptujace:");
+        var finalStates = Arrays.stream(reader.readLine().split(" ")).collect(toSet());
+
+        expectHeader(reader.readLine(), TAPES_HEADER);
+        var tapes = Integer.parseInt(reader.readLine().trim());
+
+        expectHeader(reader.readLine(), "relacja przejscia:");
+        var transitions = new HashSet<MultiTransition>();
+        for (var line = reader.readLine(); line != null; line = reader.readLine()) {
+            var split = line.split(" ");
+            transitions.add(new MultiTransition(split[0], split[1], split[2], split[3], split[4]));
+        }
+        return new MultiSettings(bandAlphabet, inputAlphabet, word, states, startState, finalStates, tapes,
+                transitions);
+    }
+
+    public void validate() {
+        if (tapes < 1 || tapes > MultiProgram.MAX_TAPES) {
+            throw new IllegalStateException(format("Invalid number of tapes: %d. Max: %d", tapes,
+                    MultiProgram.MAX_TAPES));
+        }
+        new Settings(bandAlphabet, inputAlphabet, word, states, startState, finalStates, Set.of()).validate();
+        validateTransitions();
+    }
+
+    private void validateTransitions() {
+        try {
+            var unique = new HashSet<String>();
+            for (var transition : transitions) {
+                validateState(states, transition.fromState());
+                validateState(states, transition.toState());
+                validateTuple(transition.readChars());
+                validateTuple(transition.writeChars());
+                validateTuple(transition.moveDirs());
+                for (int i = 0; i < tapes; i++) {
+                    validateCharacter(bandAlphabet, transition.readChars().charAt(i));
+                    validateCharacter(bandAlphabet, transition.writeChars().charAt(i));
+                    MultiProgram.move(transition.moveDirs().charAt(i));
+                }
+                if (!unique.add(transition.fromState() + " " + transition.readChars())) {
+                    throw new IllegalStateException(
+                            format("Non deterministic. Multiple transitions from \"%s\" reading \"%s\"",
+                                    transition.fromState(), transition.readChars()));
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Invalid transition", e);
+        }
+    }
+
+    private void validateTuple(String tuple) {
+        if (tuple.length() != tapes) {
+            throw new IllegalStateException(format("Expected %d symbols but was \"%s\"", tapes, tuple));
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package turing.machine;
+
+public record MultiTransition(
+        String fromState,
+        String readChars,
+        String toState,
+        String writeChars,
+        String moveDirs
+) {
+}
@@ -0,0 +1,12 @@
+package turing.machine;
+
+public enum Outcome {
+    ACCEPTED,
+    REJECTED,
+    STEP_LIMIT,
+    TIMEOUT,
+    OUT_OF_TAPE,
+    CANCELLED,
+    NEVER_HALTS,
+    OUT_OF_MEMORY
+}
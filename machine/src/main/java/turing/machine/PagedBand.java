@@ -0,0 +1,199 @@
+package turing.machine;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.lang.String.format;
+
+public class PagedBand extends Band {
+    public static final int PAGE_BITS = 12;
+    public static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int MAX_VIEW_SIZE = 1 << 20;
+    private static final byte[] EMPTY_PAGE = new byte[PAGE_SIZE];
+
+    private final Map<Integer, byte[]> pages = new HashMap<>();
+    private byte[] page;
+    private int pageIndex;
+    private boolean allocated;
+    private int position;
+    private int left;
+    private int right;
+    private int maxSize = MAX_SIZE;
+
+    public PagedBand() {
+        this(new char[]{EMPTY_CHARACTER});
+    }
+
+    public PagedBand(char[] symbols) {
+        super(symbols);
+    }
+
+    @Override
+    public void reset(String word) {
+        pages.clear();
+        left = 0;
+        right = word.length() - 1;
+        for (int i = 0; i < word.length(); i++) {
+            store(i, symbolId(word.charAt(i)));
+        }
+        select(0);
+    }
+
+    @Override
+    public int readSymbol() {
+        return page[position & PAGE_MASK] & 0xFF;
+    }
+
+    @Override
+    public void write(int symbol, int move) {
+        if (!allocated) {
+            if (symbol == EMPTY_SYMBOL) {
+                moveTo(next(move));
+                return;
+            }
+            page = allocate(pageIndex);
+            allocated = true;
+        }
+        page[position & PAGE_MASK] = (byte) symbol;
+        if (symbol != EMPTY_SYMBOL) {
+            if (position < left) left = position;
+            if (position > right) right = position;
+        }
+        moveTo(next(move));
+    }
+
+    @Override
+    public int symbolAt(int position) {
+        var cells = pages.get(position >> PAGE_BITS);
+        return cells == null ? EMPTY_SYMBOL : cells[position & PAGE_MASK] & 0xFF;
+    }
+
+    @Override
+    void writeAt(int position, int symbol) {
+        if (symbol != EMPTY_SYMBOL || pages.containsKey(position >> PAGE_BITS)) {
+            store(position, symbol);
+            select(this.position);
+        }
+    }
+
+    @Override
+    void moveTo(int position) {
+        int index = position >> PAGE_BITS;
+        this.position = position;
+        if (index != pageIndex || page == null) {
+            select(position);
+        }
+    }
+
+    @Override
+    int leftmost() {
+        return left;
+    }
+
+    @Override
+    int rightmost() {
+        return right;
+    }
+
+    @Override
+    void limit(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    long headroom() {
+        long free = (maxSize - (long) pages.size() * PAGE_SIZE) / PAGE_SIZE;
+        long edge = Math.min((long) Integer.MAX_VALUE - position, (long) position - Integer.MIN_VALUE);
+        return Math.max(0, Math.min(edge, (free - 1) * PAGE_SIZE));
+    }
+
+    @Override
+    boolean canMove(int move) {
+        if (move == MOVE_RIGHT ? position == Integer.MAX_VALUE : position == Integer.MIN_VALUE) {
+            return false;
+        }
+        return allocated || (long) (pages.size() + 1) * PAGE_SIZE <= maxSize;
+    }
+
+    @Override
+    public int headPos() {
+        return position - viewStart();
+    }
+
+    @Override
+    public int position() {
+        return position;
+    }
+
+    @Override
+    public String bandStr() {
+        return cells(viewStart(), viewEnd());
+    }
+
+    @Override
+    public String bandStr(int start, int end) {
+        return cells(viewStart() + Math.max(0, start), viewStart() + Math.min(length(), end));
+    }
+
+    @Override
+    public int length() {
+        return viewEnd() - viewStart();
+    }
+
+    @Override
+    long capacity() {
+        return (long) pages.size() * PAGE_SIZE;
+    }
+
+    public int pageCount() {
+        return pages.size();
+    }
+
+    private void store(int position, int symbol) {
+        allocate(position >> PAGE_BITS)[position & PAGE_MASK] = (byte) symbol;
+        if (symbol != EMPTY_SYMBOL) {
+            if (position < left) left = position;
+            if (position > right) right = position;
+        }
+    }
+
+    private byte[] allocate(int index) {
+        var cells = pages.get(index);
+        if (cells == null) {
+            if ((long) (pages.size() + 1) * PAGE_SIZE > maxSize) {
+                throw new IllegalStateException(format("Band size limit exceeded. Max: %d", maxSize));
+            }
+            cells = new byte[PAGE_SIZE];
+            pages.put(index, cells);
+        }
+        return cells;
+    }
+
+    private int next(int move) {
+        if (move == MOVE_RIGHT ? position == Integer.MAX_VALUE : position == Integer.MIN_VALUE) {
+            throw new IllegalStateException(format("Band size limit exceeded. Max: %d", 1L << Integer.SIZE));
+        }
+        return move == MOVE_RIGHT ? position + 1 : position - 1;
+    }
+
+    private void select(int position) {
+        this.position = position;
+        pageIndex = position >> PAGE_BITS;
+        var cells = pages.get(pageIndex);
+        allocated = cells != null;
+        page = allocated ? cells : EMPTY_PAGE;
+    }
+
+    private int viewStart() {
+        return fitsView() ? Math.min(left, position) >> PAGE_BITS << PAGE_BITS : pageIndex - 1 << PAGE_BITS;
+    }
+
+    private int viewEnd() {
+        return fitsView() ? (Math.max(right, position) >> PAGE_BITS) + 1 << PAGE_BITS : pageIndex + 2 << PAGE_BITS;
+    }
+
+    private boolean fitsView() {
+        return (long) Math.max(right, position) - Math.min(left, position) < MAX_VIEW_SIZE - PAGE_SIZE;
+    }
+}
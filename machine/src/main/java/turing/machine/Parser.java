@@ -0,0 +1,468 @@
+package turing.machine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.READ;
+import static turing.machine.Program.NONE;
+
+public final class Parser {
+    public static final int CHUNK_SIZE = 1 << 20;
+
+    public record Parsed(Settings settings, Program program) {
+    }
+
+    private final ByteBuffer input;
+    private final Charset charset;
+    private int position;
+    private int line;
+    private int lineStart;
+
+    private Parser(ByteBuffer input, Charset charset) {
+        this.input = input;
+        this.charset = charset;
+    }
+
+    public static Parsed parse(Path path, Charset charset) {
+        if (!isAsciiCompatible(charset)) {
+            var settings = Settings.parse(path, charset);
+            settings.validate();
+            return new Parsed(settings, Program.compile(settings));
+        }
+        try (var channel = FileChannel.open(path, READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException(format("Input file too large: %d bytes", channel.size()));
+            }
+            return parse(channel.map(READ_ONLY, 0, channel.size()), charset);
+        } catch (Exception e) {
+            throw new IllegalStateException("Input parsing error", e);
+        }
+    }
+
+    public static Parsed parse(ByteBuffer input, Charset charset) {
+        if (!isAsciiCompatible(charset)) {
+            throw new IllegalStateException(format("Charset %s is not supported by parser", charset));
+        }
+        var event = new Events.Parse();
+        event.begin();
+        var parsed = new Parser(input, charset).parse();
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "Parser.parse";
+            event.transitions = parsed.program().transitions().size();
+            event.commit();
+        }
+        return parsed;
+    }
+
+    private Parsed parse() {
+        header("alfabet tasmowy:");
+        var bandAlphabet = alphabet(nextString());
+        validateSymbols(bandAlphabet, line);
+
+        header("alfabet wejsciowy:");
+        var inputAlphabet = alphabet(nextString());
+        var symbolSet = new HashSet<Character>(bandAlphabet);
+        symbolSet.addAll(inputAlphabet);
+        validateSymbols(symbolSet, line);
+
+        header("slowo wejsciowe:");
+        var word = nextString();
+        for (int i = 0; i < word.length(); i++) {
+            if (!inputAlphabet.contains(word.charAt(i))) {
+                throw error(line, i + 1, format("Character \"%s\" not present in input alphabet %s",
+                        word.charAt(i), inputAlphabet));
+            }
+        }
+
+        header("stany:");
+        int statesLine = line;
+        var states = new HashSet<String>();
+        for (var token : tokens(nextLine())) {
+            states.add(string(token[0], token[1]));
+        }
+        if (states.isEmpty() || states.size() > Program.MAX_STATES) {
+            throw error(statesLine, 1, format("Invalid number of states: %d. Max: %d", states.size(),
+                    Program.MAX_STATES));
+        }
+
+        header("stan poczatkowy:");
+        var startState = nextString();
+        validateState(states, startState, line, 1);
+
+        header("stany akceptujace:");
+        var finalStates = new HashSet<String>();
+        for (var token : tokens(nextLine())) {
+            var state = string(token[0], token[1]);
+            validateState(states, state, line, column(token[0]));
+            finalStates.add(state);
+        }
+
+        header("relacja przejscia:");
+        var stateNames = Program.internStates(states.stream());
+        var symbols = Program.internSymbols(symbolSet.stream());
+        int startId = Arrays.binarySearch(stateNames, startState);
+        var finals = new long[(stateNames.length + 63) >>> 6];
+        for (var state : finalStates) {
+            int id = Arrays.binarySearch(stateNames, state);
+            finals[id >>> 6] |= 1L << id;
+        }
+
+        var table = transitions(new Names(stateNames, charset), symbolIds(symbols, bandAlphabet), symbols.length,
+                stateNames, symbols);
+        var program = Program.of(stateNames, symbols, startId, finals, table);
+        var settings = new Settings(bandAlphabet, inputAlphabet, word, states, startState, finalStates,
+                program.transitions());
+        return new Parsed(settings, program);
+    }
+
+    private int[] transitions(Names names, int[] symbolIds, int symbolCount, String[] stateNames, char[] symbols) {
+        var bounds = chunks(position, input.limit());
+        var chunks = IntStream.range(0, bounds.size() - 1)
+                .mapToObj(i -> new Chunk(names, symbolIds, symbolCount))
+                .toList();
+        var stream = IntStream.range(0, chunks.size());
+        (chunks.size() > 1 ? stream.parallel() : stream)
+                .forEach(i -> chunks.get(i).parse(bounds.get(i), bounds.get(i + 1)));
+
+        var table = new int[Math.multiplyExact(stateNames.length, symbolCount)];
+        Arrays.fill(table, NONE);
+        int chunkLine = line + 1;
+        for (var chunk : chunks) {
+            if (chunk.error != null) {
+                throw error(chunkLine + chunk.errorLine, chunk.errorColumn, chunk.error);
+            }
+            for (int i = 0; i < chunk.count; i++) {
+                int index = chunk.indices[i];
+                if (table[index] != NONE) {
+                    throw error(chunkLine + chunk.lines[i], 1,
+                            format("Non deterministic. Multiple transitions from \"%s\" reading \"%s\"",
+                                    stateNames[index / symbolCount], symbols[index % symbolCount]));
+                }
+                table[index] = chunk.actions[i];
+            }
+            chunkLine += chunk.lineCount;
+        }
+        return table;
+    }
+
+    private List<Integer> chunks(int start, int end) {
+        var bounds = new ArrayList<Integer>();
+        bounds.add(start);
+        for (long next = (long) start + CHUNK_SIZE; next < end; next += CHUNK_SIZE) {
+            int bound = (int) next;
+            while (bound < end && input.get(bound - 1) != '\n') {
+                bound++;
+            }
+            if (bound < end) {
+                bounds.add(bound);
+            }
+            next = bound;
+        }
+        bounds.add(end);
+        return bounds;
+    }
+
+    private final class Chunk {
+        private final Names names;
+        private final int[] symbolIds;
+        private final int symbolCount;
+        private int[] indices = new int[1024];
+        private int[] actions = new int[1024];
+        private int[] lines = new int[1024];
+        private int count;
+        private int lineCount;
+        private String error;
+        private int errorLine;
+        private int errorColumn;
+
+        private Chunk(Names names, int[] symbolIds, int symbolCount) {
+            this.names = names;
+            this.symbolIds = symbolIds;
+            this.symbolCount = symbolCount;
+        }
+
+        private void parse(int start, int end) {
+            var fields = new int[10];
+            for (int lineStart = start; lineStart < end; lineCount++) {
+                int lineEnd = lineStart;
+                while (lineEnd < end && input.get(lineEnd) != '\n') {
+                    lineEnd++;
+                }
+                int next = lineEnd + 1;
+                if (lineEnd > lineStart && input.get(lineEnd - 1) == '\r') {
+                    lineEnd--;
+                }
+                if (!parseLine(lineStart, lineEnd, fields)) {
+                    return;
+                }
+                lineStart = next;
+            }
+        }
+
+        private boolean parseLine(int start, int end, int[] fields) {
+            int fieldCount = 0;
+            for (int i = start; i < end; ) {
+                while (i < end && isBlank(input.get(i))) {
+                    i++;
+                }
+                if (i == end) {
+                    break;
+                }
+                int fieldStart = i;
+                while (i < end && !isBlank(input.get(i))) {
+                    i++;
+                }
+                if (fieldCount == 5) {
+                    return fail(start, fieldStart, "Expected 5 fields: from read to write move");
+                }
+                fields[2 * fieldCount] = fieldStart;
+                fields[2 * fieldCount + 1] = i;
+                fieldCount++;
+            }
+            if (fieldCount == 0) {
+                return true;
+            }
+            if (fieldCount < 5) {
+                return fail(start, end, "Expected 5 fields: from read to write move");
+            }
+            int from = names.find(input, fields[0], fields[1]);
+            if (from == NONE) {
+                return fail(start, fields[0], format("State: \"%s\" not present in states", string(fields[0], fields[1])));
+            }
+            int read = symbol(fields[2], fields[3]);
+            if (read == NONE) {
+                return fail(start, fields[2], format("Character \"%s\" not present in band alphabet",
+                        string(fields[2], fields[3])));
+            }
+            int to = names.find(input, fields[4], fields[5]);
+            if (to == NONE) {
+                return fail(start, fields[4], format("State: \"%s\" not present in states", string(fields[4], fields[5])));
+            }
+            int write = symbol(fields[6], fields[7]);
+            if (write == NONE) {
+                return fail(start, fields[6], format("Character \"%s\" not present in band alphabet",
+                        string(fields[6], fields[7])));
+            }
+            int move = fields[9] - fields[8] == 1 ? move(input.get(fields[8])) : NONE;
+            if (move == NONE) {
+                return fail(start, fields[8], format("Move Direction \"%s\" is not valid", string(fields[8], fields[9])));
+            }
+            if (count == indices.length) {
+                indices = Arrays.copyOf(indices, 2 * count);
+                actions = Arrays.copyOf(actions, 2 * count);
+                lines = Arrays.copyOf(lines, 2 * count);
+            }
+            indices[count] = from * symbolCount + read;
+            actions[count] = Program.action(to, write, move);
+            lines[count] = lineCount;
+            count++;
+            return true;
+        }
+
+        private int symbol(int start, int end) {
+            int b = input.get(start);
+            if (end - start == 1 && b >= 0) {
+                return b < symbolIds.length ? symbolIds[b] : NONE;
+            }
+            var token = string(start, end);
+            if (token.length() != 1) {
+                return NONE;
+            }
+            char c = token.charAt(0);
+            return c < symbolIds.length ? symbolIds[c] : NONE;
+        }
+
+        private boolean fail(int lineStart, int position, String message) {
+            error = message;
+            errorLine = lineCount;
+            errorColumn = column(lineStart, position);
+            return false;
+        }
+    }
+
+    private static final class Names {
+        private final byte[][] names;
+        private final int[] slots;
+
+        private Names(String[] states, Charset charset) {
+            this.names = new byte[states.length][];
+            this.slots = new int[Integer.highestOneBit(Math.max(1, states.length) * 2) * 2];
+            Arrays.fill(slots, NONE);
+            int mask = slots.length - 1;
+            for (int id = 0; id < states.length; id++) {
+                names[id] = states[id].getBytes(charset);
+                int slot = hash(names[id]) & mask;
+                while (slots[slot] != NONE) {
+                    slot = (slot + 1) & mask;
+                }
+                slots[slot] = id;
+            }
+        }
+
+        private int find(ByteBuffer input, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; i++) {
+                h = 31 * h + input.get(i);
+            }
+            int mask = slots.length - 1;
+            for (int slot = mix(h) & mask; slots[slot] != NONE; slot = (slot + 1) & mask) {
+                var name = names[slots[slot]];
+                if (name.length == end - start && matches(name, input, start)) {
+                    return slots[slot];
+                }
+            }
+            return NONE;
+        }
+
+        private static boolean matches(byte[] name, ByteBuffer input, int start) {
+            for (int i = 0; i < name.length; i++) {
+                if (name[i] != input.get(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static int hash(byte[] name) {
+            int h = 0;
+            for (byte b : name) {
+                h = 31 * h + b;
+            }
+            return mix(h);
+        }
+
+        private static int mix(int h) {
+            h *= 0x9E3779B9;
+            return h ^ h >>> 16;
+        }
+    }
+
+    private void header(String expected) {
+        var actual = nextString();
+        if (!actual.equals(expected)) {
+            throw error(line, 1, format("Expected header \"%s\" but was \"%s\"", expected, actual));
+        }
+    }
+
+    private int nextLine() {
+        if (position >= input.limit()) {
+            throw error(line + 1, 1, "Unexpected end of input");
+        }
+        line++;
+        lineStart = position;
+        int end = position;
+        while (end < input.limit() && input.get(end) != '\n') {
+            end++;
+        }
+        position = Math.min(input.limit(), end + 1);
+        return end > lineStart && input.get(end - 1) == '\r' ? end - 1 : end;
+    }
+
+    private String nextString() {
+        int end = nextLine();
+        return string(lineStart, end);
+    }
+
+    private Set<Character> alphabet(String chars) {
+        var alphabet = new HashSet<Character>();
+        for (int i = 0; i < chars.length(); i++) {
+            alphabet.add(chars.charAt(i));
+        }
+        return alphabet;
+    }
+
+    private List<int[]> tokens(int end) {
+        var tokens = new ArrayList<int[]>();
+        for (int i = lineStart; i < end; ) {
+            while (i < end && isBlank(input.get(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < end && !isBlank(input.get(i))) {
+                i++;
+            }
+            if (i > start) {
+                tokens.add(new int[]{start, i});
+            }
+        }
+        return tokens;
+    }
+
+    private void validateSymbols(Set<Character> symbols, int line) {
+        int count = symbols.size() + (symbols.contains(Band.EMPTY_CHARACTER) ? 0 : 1);
+        if (count > Band.MAX_SYMBOLS) {
+            throw error(line, 1, format("Too many symbols: %d. Max: %d", count, Band.MAX_SYMBOLS));
+        }
+    }
+
+    private void validateState(Set<String> states, String state, int line, int column) {
+        if (!states.contains(state)) {
+            throw error(line, column, format("State: \"%s\" not present in states %s", state, states));
+        }
+    }
+
+    private String string(int start, int end) {
+        var bytes = new byte[end - start];
+        input.get(start, bytes);
+        return new String(bytes, charset);
+    }
+
+    private int column(int position) {
+        return column(lineStart, position);
+    }
+
+    private int column(int lineStart, int position) {
+        return string(lineStart, position).length() + 1;
+    }
+
+    private static IllegalStateException error(int line, int column, String message) {
+        return new IllegalStateException(format("Line %d, column %d: %s", line, column, message));
+    }
+
+    private static int[] symbolIds(char[] symbols, Set<Character> bandAlphabet) {
+        int max = 0;
+        for (char c : bandAlphabet) {
+            max = Math.max(max, c);
+        }
+        var ids = new int[max + 1];
+        Arrays.fill(ids, NONE);
+        for (char c : bandAlphabet) {
+            ids[c] = Arrays.binarySearch(symbols, 1, symbols.length, c);
+        }
+        if (bandAlphabet.contains(Band.EMPTY_CHARACTER)) {
+            ids[Band.EMPTY_CHARACTER] = Band.EMPTY_SYMBOL;
+        }
+        return ids;
+    }
+
+    private static int move(byte move) {
+        return switch (move) {
+            case 'L' -> Band.MOVE_LEFT;
+            case 'P' -> Band.MOVE_RIGHT;
+            default -> NONE;
+        };
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    private static boolean isAsciiCompatible(Charset charset) {
+        return charset.equals(UTF_8) || charset.equals(US_ASCII) || charset.equals(ISO_8859_1);
+    }
+}
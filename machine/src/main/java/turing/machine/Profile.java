@@ -0,0 +1,201 @@
+package turing.machine;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static turing.machine.Program.NONE;
+
+public class Profile {
+    public static final int MAX_BUCKETS = 1 << 16;
+    public static final int MAX_SAMPLES = 64;
+    public static final int INITIAL_INTERVAL = 1 << 10;
+    public static final int HOT_TRANSITIONS = 20;
+    public static final int HISTOGRAM_ROWS = 20;
+
+    public record Hot(Transition transition, long count) {
+    }
+
+    public record Bucket(long from, long to, long count) {
+    }
+
+    public record Sample(long step, long span) {
+    }
+
+    private final Program program;
+    private final long[] counts;
+    private long[] positions = new long[64];
+    private int base = -32;
+    private int shift;
+    private long span;
+    private long steps;
+    private long interval = INITIAL_INTERVAL;
+    private long nextSample = INITIAL_INTERVAL;
+    private final long[] sampleSteps = new long[MAX_SAMPLES];
+    private final long[] sampleSpans = new long[MAX_SAMPLES];
+    private int samples;
+
+    public Profile(Program program) {
+        this.program = program;
+        this.counts = new long[program.stateCount() * program.symbolCount()];
+    }
+
+    public Machine machine(Tape tape) {
+        return new Machine(program, new ProfilingKernel(), tape);
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    public List<Hot> hot(int limit) {
+        var hot = new ArrayList<Hot>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                hot.add(new Hot(program.transition(i), counts[i]));
+            }
+        }
+        hot.sort(Comparator.comparingLong(Hot::count).reversed());
+        return hot.subList(0, Math.min(limit, hot.size()));
+    }
+
+    public long[] stateVisits() {
+        var visits = new long[program.stateCount()];
+        visits[program.startState()]++;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                visits[Program.nextState(program.action(i))] += counts[i];
+            }
+        }
+        return visits;
+    }
+
+    public List<Bucket> histogram(int rows) {
+        if (steps == 0) {
+            return List.of();
+        }
+        int first = 0;
+        int last = positions.length - 1;
+        while (first < last && positions[first] == 0) first++;
+        while (last > first && positions[last] == 0) last--;
+        int width = (last - first + rows) / rows;
+        var histogram = new ArrayList<Bucket>();
+        for (int i = first; i <= last; i += width) {
+            long count = 0;
+            for (int j = i; j < Math.min(i + width, last + 1); j++) {
+                count += positions[j];
+            }
+            long from = (long) (base + i) << shift;
+            long to = ((long) (base + Math.min(i + width, last + 1)) << shift) - 1;
+            histogram.add(new Bucket(from, to, count));
+        }
+        return histogram;
+    }
+
+    public List<Sample> spans() {
+        var spans = new ArrayList<Sample>(samples + 1);
+        for (int i = 0; i < samples; i++) {
+            spans.add(new Sample(sampleSteps[i], sampleSpans[i]));
+        }
+        if (samples == 0 || sampleSteps[samples - 1] != steps) {
+            spans.add(new Sample(steps, span));
+        }
+        return spans;
+    }
+
+    public Program program() {
+        return program;
+    }
+
+    private static long span(Band band) {
+        return Math.max(0, (long) band.rightmost() - band.leftmost() + 1);
+    }
+
+    private int grow(int position) {
+        long cell = position >> shift;
+        long from = Math.min(base, cell);
+        long to = Math.max(base + positions.length - 1L, cell);
+        int fold = 0;
+        while ((to >> fold) - (from >> fold) + 1 > MAX_BUCKETS) {
+            fold++;
+        }
+        int needed = (int) ((to >> fold) - (from >> fold) + 1);
+        int size = Math.max(needed, Math.min(MAX_BUCKETS, 2 * positions.length));
+        int newBase = cell < base ? (int) (to >> fold) - size + 1 : (int) (from >> fold);
+        var grown = new long[size];
+        for (int i = 0; i < positions.length; i++) {
+            grown[((base + i) >> fold) - newBase] += positions[i];
+        }
+        positions = grown;
+        base = newBase;
+        shift += fold;
+        return (position >> shift) - base;
+    }
+
+    private void sample(long steps, Band band) {
+        if (samples == MAX_SAMPLES) {
+            for (int i = 0; i < MAX_SAMPLES / 2; i++) {
+                sampleSteps[i] = sampleSteps[2 * i + 1];
+                sampleSpans[i] = sampleSpans[2 * i + 1];
+            }
+            samples = MAX_SAMPLES / 2;
+            interval *= 2;
+        }
+        sampleSteps[samples] = steps;
+        sampleSpans[samples++] = span(band);
+        nextSample = steps + interval;
+    }
+
+    private final class ProfilingKernel extends Kernel {
+        private final int[] table = program.table();
+        private final long[] finalStates = program.finalStates();
+        private final int stride = program.symbolCount();
+
+        @Override
+        public long run(Band band, long maxSteps) {
+            var table = this.table;
+            var finalStates = this.finalStates;
+            var counts = Profile.this.counts;
+            var positions = Profile.this.positions;
+            int stride = this.stride;
+            int shift = Profile.this.shift;
+            int base = Profile.this.base;
+            long total = Profile.this.steps;
+            long next = nextSample;
+            int state = this.state;
+            long steps = 0;
+            while (steps < maxSteps && (finalStates[state >>> 6] & (1L << state)) == 0) {
+                int symbol = band.readSymbol();
+                if (symbol >= stride) {
+                    break;
+                }
+                int index = state * stride + symbol;
+                int action = table[index];
+                if (action == NONE) {
+                    break;
+                }
+                counts[index]++;
+                band.write(Program.writeSymbol(action), Program.move(action));
+                state = Program.nextState(action);
+                steps++;
+                int position = band.position();
+                int bucket = (position >> shift) - base;
+                if (bucket < 0 || bucket >= positions.length) {
+                    bucket = grow(position);
+                    positions = Profile.this.positions;
+                    shift = Profile.this.shift;
+                    base = Profile.this.base;
+                }
+                positions[bucket]++;
+                if (++total == next) {
+                    sample(total, band);
+                    next = nextSample;
+                }
+            }
+            Profile.this.steps = total;
+            span = span(band);
+            this.state = state;
+            return steps;
+        }
+    }
+}
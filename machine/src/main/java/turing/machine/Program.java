@@ -0,0 +1,328 @@
+package turing.machine;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static turing.machine.Band.EMPTY_CHARACTER;
+
+public final class Program {
+    public static final int MAX_STATES = 1 << 22;
+    public static final int NONE = -1;
+
+    private static final int MOVE_BITS = 1;
+    private static final int SYMBOL_BITS = 8;
+    private static final int STATE_SHIFT = MOVE_BITS + SYMBOL_BITS;
+
+    private final String[] states;
+    private final char[] symbols;
+    private final int[] symbolIds;
+    private final int startState;
+    private final long[] finalStates;
+    private final int[] table;
+    private final Transition[] transitions;
+    private String hash;
+
+    private Program(String[] states, char[] symbols, String startState, Set<String> finalStates,
+                    Collection<Transition> transitions) {
+        validate(states, symbols);
+        this.states = states;
+        this.symbols = symbols;
+        this.symbolIds = new int[maxChar(symbols) + 1];
+        Arrays.fill(symbolIds, NONE);
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIds[symbols[i]] = i;
+        }
+        this.startState = stateId(startState);
+        this.finalStates = new long[(states.length + 63) >>> 6];
+        for (var state : finalStates) {
+            int id = stateId(state);
+            this.finalStates[id >>> 6] |= 1L << id;
+        }
+        this.table = new int[states.length * symbols.length];
+        this.transitions = new Transition[table.length];
+        Arrays.fill(table, NONE);
+        for (var transition : transitions) {
+            int index = index(stateId(transition.fromState()), symbolId(transition.readChar()));
+            if (table[index] != NONE) {
+                throw new IllegalStateException(
+                        format("Non deterministic. Multiple transitions from \"%s\" reading \"%s\"",
+                                transition.fromState(), transition.readChar()));
+            }
+            table[index] = action(stateId(transition.toState()), symbolId(transition.writeChar()),
+                    Band.move(transition.moveDir()));
+            this.transitions[index] = transition;
+        }
+    }
+
+    private Program(String[] states, char[] symbols, int startState, long[] finalStates, int[] table) {
+        validate(states, symbols);
+        this.states = states;
+        this.symbols = symbols;
+        this.symbolIds = new int[maxChar(symbols) + 1];
+        Arrays.fill(symbolIds, NONE);
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIds[symbols[i]] = i;
+        }
+        this.startState = startState;
+        this.finalStates = finalStates;
+        this.table = table;
+        this.transitions = new Transition[table.length];
+    }
+
+    private static void validate(String[] states, char[] symbols) {
+        if (states.length > MAX_STATES) {
+            throw new IllegalStateException(format("Too many states: %d. Max: %d", states.length, MAX_STATES));
+        }
+        if (symbols.length > Band.MAX_SYMBOLS) {
+            throw new IllegalStateException(
+                    format("Too many symbols: %d. Max: %d", symbols.length, Band.MAX_SYMBOLS));
+        }
+    }
+
+    public static Program compile(Settings settings) {
+        var symbols = Stream.of(settings.bandAlphabet(), settings.inputAlphabet(), settings.word().chars()
+                        .mapToObj(c -> (char) c).toList(), symbols(settings.transitions()))
+                .flatMap(Collection::stream);
+        var states = Stream.of(settings.states(), Set.of(settings.startState()), settings.finalStates(),
+                        states(settings.transitions()))
+                .flatMap(Collection::stream);
+        return new Program(internStates(states), internSymbols(symbols), settings.startState(),
+                settings.finalStates(), settings.transitions());
+    }
+
+    public static Program compile(String startState, Set<String> finalStates, Collection<Transition> transitions) {
+        var states = Stream.of(Set.of(startState), finalStates, states(transitions)).flatMap(Collection::stream);
+        return new Program(internStates(states), internSymbols(symbols(transitions).stream()), startState,
+                finalStates, transitions);
+    }
+
+    static Program of(String[] states, char[] symbols, String startState, Set<String> finalStates,
+                      Collection<Transition> transitions) {
+        return new Program(states, symbols, startState, finalStates, transitions);
+    }
+
+    static Program of(String[] states, char[] symbols, int startState, long[] finalStates, int[] table) {
+        return new Program(states, symbols, startState, finalStates, table);
+    }
+
+    public static int action(int nextState, int writeSymbol, int move) {
+        return nextState << STATE_SHIFT | writeSymbol << MOVE_BITS | move;
+    }
+
+    public static int nextState(int action) {
+        return action >>> STATE_SHIFT;
+    }
+
+    public static int writeSymbol(int action) {
+        return (action >>> MOVE_BITS) & (Band.MAX_SYMBOLS - 1);
+    }
+
+    public static int move(int action) {
+        return action & ((1 << MOVE_BITS) - 1);
+    }
+
+    public int index(int state, int symbol) {
+        return state * symbols.length + symbol;
+    }
+
+    public int stateCount() {
+        return states.length;
+    }
+
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    public int startState() {
+        return startState;
+    }
+
+    public String state(int id) {
+        return states[id];
+    }
+
+    public int stateId(String state) {
+        int id = Arrays.binarySearch(states, state);
+        if (id < 0) {
+            throw new IllegalStateException(format("State: \"%s\" not present in states %s",
+                    state, Arrays.toString(states)));
+        }
+        return id;
+    }
+
+    public char symbol(int id) {
+        return symbols[id];
+    }
+
+    public int symbolId(char character) {
+        return character < symbolIds.length ? symbolIds[character] : NONE;
+    }
+
+    public boolean isFinal(int state) {
+        return (finalStates[state >>> 6] & (1L << state)) != 0;
+    }
+
+    public int action(int index) {
+        return table[index];
+    }
+
+    public Transition transition(int index) {
+        var transition = transitions[index];
+        if (transition == null && table[index] != NONE) {
+            int action = table[index];
+            transition = new Transition(states[index / symbols.length], symbols[index % symbols.length],
+                    states[nextState(action)], symbols[writeSymbol(action)], move(action) == Band.MOVE_RIGHT ? "P" : "L");
+            transitions[index] = transition;
+        }
+        return transition;
+    }
+
+    public Set<Transition> transitions() {
+        return new AbstractSet<>() {
+            private int size = NONE;
+
+            @Override
+            public Iterator<Transition> iterator() {
+                return new Iterator<>() {
+                    private int index = skip(0);
+
+                    @Override
+                    public boolean hasNext() {
+                        return index < table.length;
+                    }
+
+                    @Override
+                    public Transition next() {
+                        if (index >= table.length) {
+                            throw new NoSuchElementException();
+                        }
+                        var transition = transition(index);
+                        index = skip(index + 1);
+                        return transition;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                if (size == NONE) {
+                    size = (int) Arrays.stream(table).filter(action -> action != NONE).count();
+                }
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Transition transition)) {
+                    return false;
+                }
+                int state = Arrays.binarySearch(states, transition.fromState());
+                int symbol = symbolId(transition.readChar());
+                return state >= 0 && symbol != NONE && transition.equals(transition(index(state, symbol)));
+            }
+
+            private int skip(int index) {
+                while (index < table.length && table[index] == NONE) {
+                    index++;
+                }
+                return index;
+            }
+        };
+    }
+
+    public String hash() {
+        if (hash == null) {
+            try {
+                var digest = MessageDigest.getInstance("SHA-256");
+                var out = new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+                out.writeInt(states.length);
+                for (var state : states) {
+                    out.writeUTF(state);
+                }
+                out.writeInt(symbols.length);
+                for (var symbol : symbols) {
+                    out.writeChar(symbol);
+                }
+                out.writeInt(startState);
+                for (var bits : finalStates) {
+                    out.writeLong(bits);
+                }
+                for (var action : table) {
+                    out.writeInt(action);
+                }
+                hash = HexFormat.of().formatHex(digest.digest());
+            } catch (IOException | NoSuchAlgorithmException e) {
+                throw new IllegalStateException("Program hashing error", e);
+            }
+        }
+        return hash;
+    }
+
+    int[] table() {
+        return table;
+    }
+
+    char[] symbols() {
+        return symbols;
+    }
+
+    long[] finalStates() {
+        return finalStates;
+    }
+
+    static String[] internStates(Stream<String> states) {
+        return states.collect(TreeSet::new, TreeSet::add, TreeSet::addAll).toArray(String[]::new);
+    }
+
+    static char[] internSymbols(Stream<Character> symbols) {
+        var sorted = symbols.filter(c -> c != EMPTY_CHARACTER).collect(TreeSet<Character>::new, TreeSet::add,
+                TreeSet::addAll);
+        var interned = new char[sorted.size() + 1];
+        interned[0] = EMPTY_CHARACTER;
+        int i = 1;
+        for (char c : sorted) {
+            interned[i++] = c;
+        }
+        return interned;
+    }
+
+    private static Set<String> states(Collection<Transition> transitions) {
+        var states = new TreeSet<String>();
+        for (var transition : transitions) {
+            states.add(transition.fromState());
+            states.add(transition.toState());
+        }
+        return states;
+    }
+
+    private static Set<Character> symbols(Collection<Transition> transitions) {
+        var symbols = new TreeSet<Character>();
+        for (var transition : transitions) {
+            symbols.add(transition.readChar());
+            symbols.add(transition.writeChar());
+        }
+        return symbols;
+    }
+
+    private static int maxChar(char[] symbols) {
+        int max = 0;
+        for (char c : symbols) {
+            max = Math.max(max, c);
+        }
+        return max;
+    }
+}
@@ -0,0 +1,4 @@
+package turing.machine;
+
+public record Run(Outcome outcome, long steps) {
+}
@@ -0,0 +1,297 @@
+package turing.machine;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static java.lang.String.format;
+import static turing.machine.Band.EMPTY_SYMBOL;
+import static turing.machine.Band.MOVE_RIGHT;
+import static turing.machine.Program.NONE;
+
+public class Search {
+    public static final long DEFAULT_MAX_MEMORY = Runtime.getRuntime().maxMemory() / 2;
+    private static final int CONFIGURATION_BYTES = 64;
+
+    public record Result(Outcome outcome, long depth, long configurations, List<Transition> path, String word) {
+    }
+
+    private final String[] states;
+    private final char[] symbols;
+    private final int[] symbolIds;
+    private final int startState;
+    private final long[] finalStates;
+    private final int[] offsets;
+    private final int[] actions;
+    private final Transition[] transitions;
+    private final int parallelism;
+    private final long maxMemory;
+    private volatile boolean cancelled;
+
+    public Search(Settings settings, int parallelism, long maxMemory) {
+        var symbolStream = Stream.of(settings.bandAlphabet(), settings.inputAlphabet(), settings.word().chars()
+                .mapToObj(c -> (char) c).toList()).flatMap(Collection::stream);
+        var stateStream = Stream.of(settings.states(), Set.of(settings.startState()), settings.finalStates())
+                .flatMap(Collection::stream);
+        this.states = Program.internStates(stateStream);
+        this.symbols = Program.internSymbols(symbolStream);
+        if (symbols.length > Band.MAX_SYMBOLS) {
+            throw new IllegalStateException(
+                    format("Too many symbols: %d. Max: %d", symbols.length, Band.MAX_SYMBOLS));
+        }
+        int maxChar = 0;
+        for (char symbol : symbols) {
+            maxChar = Math.max(maxChar, symbol);
+        }
+        this.symbolIds = new int[maxChar + 1];
+        Arrays.fill(symbolIds, NONE);
+        for (int i = 0; i < symbols.length; i++) {
+            symbolIds[symbols[i]] = i;
+        }
+        this.startState = stateId(settings.startState());
+        this.finalStates = new long[(states.length + 63) >>> 6];
+        for (var state : settings.finalStates()) {
+            int id = stateId(state);
+            finalStates[id >>> 6] |= 1L << id;
+        }
+
+        var sorted = settings.transitions().stream()
+                .sorted(Comparator.comparing(Transition::fromState).thenComparing(Transition::readChar)
+                        .thenComparing(Transition::toState).thenComparing(Transition::writeChar)
+                        .thenComparing(Transition::moveDir))
+                .toList();
+        this.offsets = new int[states.length * symbols.length + 1];
+        for (var transition : sorted) {
+            offsets[index(stateId(transition.fromState()), symbolId(transition.readChar())) + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        this.actions = new int[sorted.size()];
+        this.transitions = new Transition[sorted.size()];
+        var next = Arrays.copyOf(offsets, offsets.length - 1);
+        for (var transition : sorted) {
+            int slot = next[index(stateId(transition.fromState()), symbolId(transition.readChar()))]++;
+            actions[slot] = Program.action(stateId(transition.toState()), symbolId(transition.writeChar()),
+                    Band.move(transition.moveDir()));
+            transitions[slot] = transition;
+        }
+        this.parallelism = parallelism;
+        this.maxMemory = maxMemory;
+    }
+
+    public Result run(String word, Limits limits) {
+        cancelled = false;
+        var cells = new byte[word.length()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = (byte) symbolId(word.charAt(i));
+        }
+        var start = Configuration.of(startState, 0, 0, cells, 0, cells.length, null, NONE);
+        if (isFinal(startState)) {
+            return new Result(Outcome.ACCEPTED, 0, 1, List.of(), start.word(symbols));
+        }
+        long begin = System.nanoTime();
+        var exploration = new Exploration(limits, begin);
+        exploration.visited.add(start);
+        exploration.memory.addAndGet(start.bytes());
+        var frontier = List.of(start);
+        var pool = new ForkJoinPool(parallelism);
+        try {
+            for (long depth = 0; ; depth++) {
+                if (frontier.isEmpty()) {
+                    return exploration.result(exploration.outOfTape ? Outcome.OUT_OF_TAPE : Outcome.REJECTED, depth);
+                }
+                if (depth >= limits.maxSteps()) {
+                    return exploration.result(Outcome.STEP_LIMIT, depth);
+                }
+                if (limits.expired(begin, System.nanoTime())) {
+                    return exploration.result(Outcome.TIMEOUT, depth);
+                }
+                var current = frontier;
+                frontier = pool.submit(() -> current.parallelStream().flatMap(exploration::expand).toList()).join();
+                if (exploration.accepted.get() != null) {
+                    return exploration.result(Outcome.ACCEPTED, depth + 1);
+                }
+                if (exploration.timedOut) {
+                    return exploration.result(Outcome.TIMEOUT, depth);
+                }
+                if (cancelled) {
+                    return exploration.result(Outcome.CANCELLED, depth + 1);
+                }
+                if (exploration.outOfMemory) {
+                    return exploration.result(Outcome.OUT_OF_MEMORY, depth + 1);
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private int index(int state, int symbol) {
+        return state * symbols.length + symbol;
+    }
+
+    private int stateId(String state) {
+        int id = Arrays.binarySearch(states, state);
+        if (id < 0) {
+            throw new IllegalStateException(format("Unknown state: \"%s\"", state));
+        }
+        return id;
+    }
+
+    private int symbolId(char character) {
+        int id = character < symbolIds.length ? symbolIds[character] : NONE;
+        if (id == NONE) {
+            throw new IllegalStateException(format("Unknown symbol: \"%s\"", character));
+        }
+        return id;
+    }
+
+    private boolean isFinal(int state) {
+        return (finalStates[state >>> 6] & 1L << state) != 0;
+    }
+
+    private final class Exploration {
+        private final Set<Configuration> visited = ConcurrentHashMap.newKeySet();
+        private final AtomicLong memory = new AtomicLong();
+        private final AtomicReference<Configuration> accepted = new AtomicReference<>();
+        private final Limits limits;
+        private final long begin;
+        private volatile boolean outOfTape;
+        private volatile boolean outOfMemory;
+        private volatile boolean timedOut;
+
+        Exploration(Limits limits, long begin) {
+            this.limits = limits;
+            this.begin = begin;
+        }
+
+        Stream<Configuration> expand(Configuration configuration) {
+            if (timedOut || limits.expired(begin, System.nanoTime())) {
+                timedOut = true;
+                return Stream.empty();
+            }
+            int index = index(configuration.state, configuration.symbol());
+            var successors = new ArrayList<Configuration>(offsets[index + 1] - offsets[index]);
+            for (int slot = offsets[index]; slot < offsets[index + 1]; slot++) {
+                if (cancelled || outOfMemory || timedOut || accepted.get() != null) {
+                    break;
+                }
+                var next = configuration.apply(actions[slot], slot);
+                if (next.size() > limits.maxTapeSize()) {
+                    outOfTape = true;
+                } else if (visited.add(next)) {
+                    if (memory.addAndGet(next.bytes()) > maxMemory) {
+                        outOfMemory = true;
+                    }
+                    if (isFinal(next.state)) {
+                        accepted.compareAndSet(null, next);
+                    }
+                    successors.add(next);
+                }
+            }
+            return successors.stream();
+        }
+
+        Result result(Outcome outcome, long depth) {
+            var configuration = accepted.get();
+            if (configuration == null) {
+                return new Result(outcome, depth, visited.size(), List.of(), "");
+            }
+            var path = new ArrayList<Transition>();
+            for (var c = configuration; c.parent != null; c = c.parent) {
+                path.add(transitions[c.transition]);
+            }
+            Collections.reverse(path);
+            return new Result(outcome, depth, visited.size(), path, configuration.word(symbols));
+        }
+    }
+
+    private static final class Configuration {
+        private final int state;
+        private final int position;
+        private final int offset;
+        private final byte[] cells;
+        private final Configuration parent;
+        private final int transition;
+        private final int hash;
+
+        private Configuration(int state, int position, int offset, byte[] cells, Configuration parent,
+                              int transition) {
+            this.state = state;
+            this.position = position;
+            this.offset = offset;
+            this.cells = cells;
+            this.parent = parent;
+            this.transition = transition;
+            this.hash = 31 * (31 * (31 * state + position) + offset) + Arrays.hashCode(cells);
+        }
+
+        static Configuration of(int state, int position, int offset, byte[] cells, int from, int to,
+                                Configuration parent, int transition) {
+            while (from < to && cells[from] == EMPTY_SYMBOL) from++;
+            while (from < to && cells[to - 1] == EMPTY_SYMBOL) to--;
+            var trimmed = from == 0 && to == cells.length ? cells : Arrays.copyOfRange(cells, from, to);
+            return new Configuration(state, position, from == to ? 0 : offset + from, trimmed, parent, transition);
+        }
+
+        int symbol() {
+            int index = position - offset;
+            return index < 0 || index >= cells.length ? EMPTY_SYMBOL : cells[index] & 0xFF;
+        }
+
+        Configuration apply(int action, int transition) {
+            int write = Program.writeSymbol(action);
+            int next = Program.move(action) == MOVE_RIGHT ? position + 1 : position - 1;
+            int index = position - offset;
+            int low = write == EMPTY_SYMBOL ? offset : Math.min(offset, position);
+            int high = write == EMPTY_SYMBOL ? offset + cells.length : Math.max(offset + cells.length, position + 1);
+            var copy = new byte[high - low];
+            System.arraycopy(cells, 0, copy, offset - low, cells.length);
+            if (index >= 0 && index < cells.length || write != EMPTY_SYMBOL) {
+                copy[position - low] = (byte) write;
+            }
+            return of(Program.nextState(action), next, low, copy, 0, copy.length, this, transition);
+        }
+
+        long size() {
+            return (long) Math.max(offset + cells.length - 1, position) - Math.min(offset, position) + 1;
+        }
+
+        long bytes() {
+            return CONFIGURATION_BYTES + cells.length;
+        }
+
+        String word(char[] symbols) {
+            var sb = new StringBuilder(cells.length);
+            for (var cell : cells) {
+                sb.append(symbols[cell & 0xFF]);
+            }
+            return sb.toString();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Configuration c && hash == c.hash && state == c.state && position == c.position
+                    && offset == c.offset && Arrays.equals(cells, c.cells);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
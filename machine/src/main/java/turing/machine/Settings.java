@@ -29,7 +29,7 @@ public record Settings(
 ) {
     public static Settings parse(Path path, Charset charset) {
         try (var reader = Files.newBufferedReader(path, charset)) {
-            return parse(reader);
+            return parsed(reader);
         } catch (Exception e) {
             throw new IllegalStateException("Input parsing error", e);
         }
@@ -37,12 +37,25 @@ public record Settings(
 
     public static Settings parse(InputStream inputStream, Charset charset) {
         try (var reader = new BufferedReader(new InputStreamReader(inputStream, charset))) {
-            return parse(reader);
+            return parsed(reader);
         } catch (Exception e) {
             throw new IllegalStateException("Input parsing error", e);
         }
     }
 
+    private static Settings parsed(BufferedReader reader) throws IOException {
+        var event = new Events.Parse();
+        event.begin();
+        var settings = parse(reader);
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "Settings.parse";
+            event.transitions = settings.transitions().size();
+            event.commit();
+        }
+        return settings;
+    }
+
     private static Settings parse(BufferedReader reader) throws IOException {
         expectHeader(reader.readLine(), "alfabet tasmowy:");
         var bandAlphabet = reader.readLine().chars().mapToObj(i -> (char) i).collect(toSet());
@@ -71,19 +84,19 @@ public record Settings(
         return new Settings(bandAlphabet, inputAlphabet, word, states, startState, finalStates, transitions);
     }
 
-    private static void expectHeader(String actual, String expected) {
+    static void expectHeader(String actual, String expected) {
         if (!Objects.equals(expected, actual)) {
             err.printf("Expected header to be: %n%s%nbut was: %n%s%n", indent(expected), indent(actual));
         }
     }
 
-    private static void validateCharacter(Set<Character> alphabet, char character) {
+    static void validateCharacter(Set<Character> alphabet, char character) {
         if (!alphabet.contains(character)) {
             throw new IllegalStateException(format("Character \"%s\" not present in alphabet %s", character, alphabet));
         }
     }
 
-    private static void validateState(Set<String> states, String state) {
+    static void validateState(Set<String> states, String state) {
         if (!states.contains(state)) {
             throw new IllegalStateException(format("State: \"%s\" not present in states %s", state, states));
         }
@@ -98,14 +111,30 @@ public record Settings(
         }
     }
 
+    public Settings withWord(String word) {
+        return new Settings(bandAlphabet, inputAlphabet, word, states, startState, finalStates, transitions);
+    }
+
     public void validate() {
+        validate(true);
+    }
+
+    public void validate(boolean deterministic) {
+        var event = new Events.Parse();
+        event.begin();
         validateWord();
         validateStartState();
         validateFinalStates();
-        validateTransitions();
+        validateTransitions(deterministic);
+        event.end();
+        if (event.shouldCommit()) {
+            event.stage = "Settings.validate";
+            event.transitions = transitions.size();
+            event.commit();
+        }
     }
 
-    private void validateWord() {
+    void validateWord() {
         try {
             for (char c : word().toCharArray()) {
                 validateCharacter(inputAlphabet, c);
@@ -133,7 +162,7 @@ public record Settings(
         }
     }
 
-    private void validateTransitions() {
+    private void validateTransitions(boolean deterministic) {
         try {
             var uniqueMap = new HashMap<String, Set<Character>>();
             for (var transition : transitions()) {
@@ -144,7 +173,7 @@ public record Settings(
                 validateDirection(transition.moveDir());
                 var unique = uniqueMap.computeIfAbsent(transition.fromState(), key -> new HashSet<>())
                         .add(transition.readChar());
-                if (!unique) {
+                if (deterministic && !unique) {
                     throw new IllegalStateException(
                             format("Non deterministic. Multiple transitions from \"%s\" reading \"%s\"",
                                     transition.fromState(), transition.readChar()));
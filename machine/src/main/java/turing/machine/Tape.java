@@ -0,0 +1,15 @@
+package turing.machine;
+
+public enum Tape {
+    ARRAY,
+    PAGED,
+    MAPPED;
+
+    Band band(char[] symbols) {
+        return switch (this) {
+            case ARRAY -> new ArrayBand(symbols);
+            case PAGED -> new PagedBand(symbols);
+            case MAPPED -> new MappedBand(symbols);
+        };
+    }
+}
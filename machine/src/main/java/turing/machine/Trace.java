@@ -0,0 +1,300 @@
+package turing.machine;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static turing.machine.TraceWriter.END;
+import static turing.machine.TraceWriter.KEYFRAME;
+import static turing.machine.TraceWriter.STEP;
+
+public class Trace {
+    public static final int MAGIC = 0x544D5452;
+    public static final int VERSION = 2;
+    public static final int KEYFRAME_INTERVAL = 1 << 20;
+
+    private final Path path;
+    private final Program program;
+    private final String word;
+    private final long steps;
+    private final Outcome outcome;
+    private final long[] keyframes;
+
+    private Trace(Path path, Program program, String word, long steps, Outcome outcome, long[] keyframes) {
+        this.path = path;
+        this.program = program;
+        this.word = word;
+        this.steps = steps;
+        this.outcome = outcome;
+        this.keyframes = keyframes;
+    }
+
+    public static Recorder recorder(Program program, Path path) {
+        return recorder(program, path, KEYFRAME_INTERVAL);
+    }
+
+    public static Recorder recorder(Program program, Path path, int keyframeInterval) {
+        try {
+            return new Recorder(program, Files.newOutputStream(path), keyframeInterval);
+        } catch (IOException e) {
+            throw new IllegalStateException("Trace writing error", e);
+        }
+    }
+
+    public static Trace open(Path path) {
+        try (var channel = FileChannel.open(path)) {
+            var in = input(channel, 0);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IllegalStateException(format("Not a trace file: %s", path));
+            }
+            in.readInt();
+            var word = readString(in);
+            var states = new String[in.readInt()];
+            for (int i = 0; i < states.length; i++) {
+                states[i] = readString(in);
+            }
+            var symbols = new char[in.readInt()];
+            for (int i = 0; i < symbols.length; i++) {
+                symbols[i] = in.readChar();
+            }
+            var startState = readString(in);
+            var finalStates = new HashSet<String>();
+            for (int i = in.readInt(); i > 0; i--) {
+                finalStates.add(readString(in));
+            }
+            var transitions = new ArrayList<Transition>();
+            for (int i = in.readInt(); i > 0; i--) {
+                transitions.add(new Transition(readString(in), in.readChar(), readString(in), in.readChar(),
+                        readString(in)));
+            }
+            var program = Program.of(states, symbols, startState, finalStates, transitions);
+
+            var footer = ByteBuffer.allocate(Long.BYTES);
+            channel.read(footer, channel.size() - Long.BYTES);
+            in = input(channel, footer.flip().getLong());
+            if (in.readUnsignedByte() != END) {
+                throw new IllegalStateException(format("Trace file not finished: %s", path));
+            }
+            long steps = in.readLong();
+            var outcome = outcome(readString(in), path);
+            var keyframes = new long[2 * in.readInt()];
+            for (int i = 0; i < keyframes.length; i++) {
+                keyframes[i] = in.readLong();
+            }
+            return new Trace(path, program, word, steps, outcome, keyframes);
+        } catch (IOException e) {
+            throw new IllegalStateException("Trace reading error", e);
+        }
+    }
+
+    public Program program() {
+        return program;
+    }
+
+    public String word() {
+        return word;
+    }
+
+    public long steps() {
+        return steps;
+    }
+
+    public Outcome outcome() {
+        return outcome;
+    }
+
+    public Machine machine(long step) {
+        return replay(step, step, null);
+    }
+
+    public Machine render(long from, long to, Log log) {
+        return replay(from, to, log);
+    }
+
+    private Machine replay(long from, long to, Log log) {
+        if (from < 0 || from > to || to > steps) {
+            throw new IllegalStateException(format("Steps %d-%d out of trace range 0-%d", from, to, steps));
+        }
+        int keyframe = 0;
+        while (keyframe + 1 < keyframes.length / 2 && keyframes[2 * keyframe + 2] <= from) {
+            keyframe++;
+        }
+        try (var channel = FileChannel.open(path)) {
+            var in = input(channel, keyframes[2 * keyframe + 1]);
+            var machine = new Machine(program);
+            long step = restore(in, machine);
+            if (log != null && step == from) {
+                log.initialized(machine);
+            }
+            while (step < to) {
+                int record = readVarint(in);
+                if (record == KEYFRAME) {
+                    skipKeyframe(in);
+                    continue;
+                }
+                if (record == END) {
+                    throw new IllegalStateException(format("Trace ended at step %d", step));
+                }
+                var transition = machine.apply(record - STEP);
+                if (++step > from && log != null) {
+                    log.iteration(step, transition, machine);
+                }
+            }
+            return machine;
+        } catch (IOException e) {
+            throw new IllegalStateException("Trace reading error", e);
+        }
+    }
+
+    private long restore(DataInputStream in, Machine machine) throws IOException {
+        if (readVarint(in) != KEYFRAME) {
+            throw new IllegalStateException("Trace keyframe expected");
+        }
+        long step = in.readLong();
+        int state = in.readInt();
+        int position = in.readInt();
+        int start = in.readInt();
+        int length = in.readInt();
+        machine.init(word);
+        machine.restore(state);
+        var band = machine.band();
+        for (int i = 0; i < length; i++) {
+            band.writeAt(start + i, in.readUnsignedByte());
+        }
+        band.moveTo(position);
+        return step;
+    }
+
+    private static void skipKeyframe(DataInputStream in) throws IOException {
+        in.skipNBytes(Long.BYTES + 3 * Integer.BYTES);
+        in.skipNBytes(in.readInt());
+    }
+
+    private static DataInputStream input(FileChannel channel, long position) throws IOException {
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(position)),
+                1 << 16));
+    }
+
+    private static int readVarint(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+    }
+
+    private static Outcome outcome(String name, Path path) {
+        try {
+            return Outcome.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException(format("Damaged trace: %s", path), e);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return new String(in.readNBytes(in.readInt()), UTF_8);
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        var bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static final class Recorder implements AutoCloseable {
+        private final Program program;
+        private final OutputStream out;
+        private final int keyframeInterval;
+        private Machine machine;
+
+        private Recorder(Program program, OutputStream out, int keyframeInterval) {
+            this.program = program;
+            this.out = out;
+            this.keyframeInterval = keyframeInterval;
+        }
+
+        public Run record(String word, Limits limits) {
+            try {
+                var header = new DataOutputStream(new BufferedOutputStream(out));
+                header.writeInt(MAGIC);
+                header.writeInt(VERSION);
+                header.writeInt(keyframeInterval);
+                writeString(header, word);
+                header.writeInt(program.stateCount());
+                for (int i = 0; i < program.stateCount(); i++) {
+                    writeString(header, program.state(i));
+                }
+                header.writeInt(program.symbolCount());
+                for (int i = 0; i < program.symbolCount(); i++) {
+                    header.writeChar(program.symbol(i));
+                }
+                writeString(header, program.state(program.startState()));
+                Set<String> finalStates = new HashSet<>();
+                for (int i = 0; i < program.stateCount(); i++) {
+                    if (program.isFinal(i)) {
+                        finalStates.add(program.state(i));
+                    }
+                }
+                header.writeInt(finalStates.size());
+                for (var state : finalStates) {
+                    writeString(header, state);
+                }
+                var transitions = new ArrayList<Transition>();
+                for (int i = 0; i < program.stateCount() * program.symbolCount(); i++) {
+                    if (program.transition(i) != null) {
+                        transitions.add(program.transition(i));
+                    }
+                }
+                header.writeInt(transitions.size());
+                for (var transition : transitions) {
+                    writeString(header, transition.fromState());
+                    header.writeChar(transition.readChar());
+                    writeString(header, transition.toState());
+                    header.writeChar(transition.writeChar());
+                    writeString(header, transition.moveDir());
+                }
+                header.flush();
+
+                var writer = new TraceWriter(program, keyframeInterval, out, header.size());
+                machine = new Machine(program, writer);
+                machine.init(word);
+                writer.state = program.startState();
+                writer.keyframe(machine.band());
+                var run = machine.run(limits);
+                writer.finish(run);
+                return run;
+            } catch (IOException e) {
+                throw new IllegalStateException("Trace writing error", e);
+            }
+        }
+
+        public Machine machine() {
+            return machine;
+        }
+
+        @Override
+        public void close() {
+            try {
+                out.close();
+            } catch (IOException e) {
+                throw new IllegalStateException("Trace writing error", e);
+            }
+        }
+    }
+}
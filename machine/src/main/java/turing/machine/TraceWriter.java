@@ -0,0 +1,147 @@
+package turing.machine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static turing.machine.Program.NONE;
+
+final class TraceWriter extends Kernel {
+    static final int KEYFRAME = 0;
+    static final int END = 1;
+    static final int STEP = 2;
+
+    private final int[] table;
+    private final long[] finalStates;
+    private final int stride;
+    private final int keyframeInterval;
+    private final OutputStream out;
+    private final byte[] buffer = new byte[1 << 16];
+    private int size;
+    private long flushed;
+    private long steps;
+    private long[] keyframes = new long[32];
+    private int keyframeCount;
+
+    TraceWriter(Program program, int keyframeInterval, OutputStream out, long offset) {
+        this.table = program.table();
+        this.finalStates = program.finalStates();
+        this.stride = program.symbolCount();
+        this.keyframeInterval = keyframeInterval;
+        this.out = out;
+        this.flushed = offset;
+    }
+
+    @Override
+    public long run(Band band, long maxSteps) {
+        var table = this.table;
+        var finalStates = this.finalStates;
+        int stride = this.stride;
+        int state = this.state;
+        long taken = 0;
+        while (taken < maxSteps && (finalStates[state >>> 6] & (1L << state)) == 0) {
+            int symbol = band.readSymbol();
+            if (symbol >= stride) {
+                break;
+            }
+            int index = state * stride + symbol;
+            int action = table[index];
+            if (action == NONE) {
+                break;
+            }
+            putVarint(index + STEP);
+            band.write(Program.writeSymbol(action), Program.move(action));
+            state = Program.nextState(action);
+            taken++;
+            if (++steps % keyframeInterval == 0) {
+                this.state = state;
+                keyframe(band);
+            }
+        }
+        this.state = state;
+        return taken;
+    }
+
+    void keyframe(Band band) {
+        if (2 * keyframeCount == keyframes.length) {
+            keyframes = Arrays.copyOf(keyframes, 2 * keyframes.length);
+        }
+        keyframes[2 * keyframeCount] = steps;
+        keyframes[2 * keyframeCount + 1] = flushed + size;
+        keyframeCount++;
+        int start = Math.min(band.leftmost(), band.position());
+        int end = Math.max(band.rightmost(), band.position());
+        putVarint(KEYFRAME);
+        putLong(steps);
+        putInt(state);
+        putInt(band.position());
+        putInt(start);
+        putInt(end - start + 1);
+        for (int i = start; i <= end; i++) {
+            if (size == buffer.length) {
+                flush();
+            }
+            buffer[size++] = (byte) band.symbolAt(i);
+        }
+    }
+
+    void finish(Run run) {
+        long footer = flushed + size;
+        putVarint(END);
+        putLong(steps);
+        putString(run.outcome().name());
+        putInt(keyframeCount);
+        for (int i = 0; i < 2 * keyframeCount; i++) {
+            putLong(keyframes[i]);
+        }
+        putLong(footer);
+        flush();
+    }
+
+    private void putVarint(int value) {
+        if (size > buffer.length - 5) {
+            flush();
+        }
+        while ((value & ~0x7F) != 0) {
+            buffer[size++] = (byte) (value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        buffer[size++] = (byte) value;
+    }
+
+    private void putInt(int value) {
+        if (size > buffer.length - Integer.BYTES) {
+            flush();
+        }
+        for (int shift = Integer.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            buffer[size++] = (byte) (value >>> shift);
+        }
+    }
+
+    private void putString(String value) {
+        var bytes = value.getBytes(UTF_8);
+        putInt(bytes.length);
+        for (var b : bytes) {
+            if (size == buffer.length) {
+                flush();
+            }
+            buffer[size++] = b;
+        }
+    }
+
+    private void putLong(long value) {
+        putInt((int) (value >>> Integer.SIZE));
+        putInt((int) value);
+    }
+
+    private void flush() {
+        try {
+            out.write(buffer, 0, size);
+        } catch (IOException e) {
+            throw new IllegalStateException("Trace writing error", e);
+        }
+        flushed += size;
+        size = 0;
+    }
+}
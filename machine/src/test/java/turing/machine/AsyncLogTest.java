@@ -0,0 +1,130 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncLogTest {
+
+    @Test
+    void shouldLogSameIterationsAsSynchronousLog() {
+        for (var engine : Engine.values()) {
+            // given
+            var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+            var program = Program.compile(settings);
+            var expected = new ArrayList<String>();
+            var expectedLog = new Log(expected::add);
+            var stepping = new Machine(program);
+            stepping.init(settings.word());
+            for (long i = 1; i <= 1000; i++) {
+                expectedLog.iteration(i, stepping.proceed(), stepping);
+            }
+            var actual = new ArrayList<String>();
+            Run run;
+
+            // when
+            try (var log = new AsyncLog(program, new Log(actual::add), new LogPolicy.Range(1, 1000), 64)) {
+                var machine = log.machine(engine);
+                machine.init(settings.word());
+                log.start(settings.word());
+                run = machine.run(Limits.NONE);
+            }
+
+            // then
+            assertEquals(new Run(Outcome.ACCEPTED, 1406), run, engine.name());
+            assertEquals(expected, actual, engine.name());
+        }
+    }
+
+    @Test
+    void shouldLogIterationsSelectedByPolicy() {
+        var policies = List.of(
+                new LogPolicy.Every(100),
+                new LogPolicy.Backoff(2),
+                new LogPolicy.Last(5),
+                new LogPolicy.Range(10, 20));
+        var expectedIterations = List.of(
+                LongStream.rangeClosed(1, 14).map(i -> 100 * i).boxed().toList(),
+                LongStream.rangeClosed(0, 10).map(i -> 1L << i).boxed().toList(),
+                LongStream.rangeClosed(1402, 1406).boxed().toList(),
+                LongStream.rangeClosed(10, 20).boxed().toList());
+        for (int i = 0; i < policies.size(); i++) {
+            // given
+            var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+            var program = Program.compile(settings);
+            var lines = new ArrayList<String>();
+
+            // when
+            try (var log = new AsyncLog(program, new Log(lines::add), policies.get(i), 64)) {
+                var machine = log.machine(Engine.TABLE);
+                machine.init(settings.word());
+                log.start(settings.word());
+                machine.run(Limits.NONE);
+            }
+
+            // then
+            var iterations = lines.stream()
+                    .filter(line -> line.startsWith("Iteration: "))
+                    .map(line -> Long.parseLong(line.substring("Iteration: ".length()).trim()))
+                    .toList();
+            assertEquals(expectedIterations.get(i), iterations, policies.get(i).toString());
+        }
+    }
+
+    @Test
+    void shouldLogLastIterationsWithoutChangingResult() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+        var program = Program.compile(settings);
+        var expected = new ArrayList<String>();
+        var expectedLog = new Log(expected::add);
+        var stepping = new Machine(program);
+        stepping.init(settings.word());
+        long steps = stepping.run(Limits.NONE).steps();
+        stepping.init(settings.word());
+        for (long i = 1; i <= steps; i++) {
+            var transition = stepping.proceed();
+            if (i > steps - 50) {
+                expectedLog.iteration(i, transition, stepping);
+            }
+        }
+        var actual = new ArrayList<String>();
+        Machine machine;
+
+        // when
+        try (var log = new AsyncLog(program, new Log(actual::add), new LogPolicy.Last(50))) {
+            machine = log.machine(Engine.TABLE);
+            machine.init(settings.word());
+            log.start(settings.word());
+            machine.run(Limits.NONE);
+        }
+
+        // then
+        assertEquals(expected, actual);
+        assertEquals(stepping.state(), machine.state());
+        assertEquals(stepping.band().currentWord(), machine.band().currentWord());
+        assertEquals(stepping.band().position(), machine.band().position());
+    }
+
+    @Test
+    void shouldParseLogPolicies() {
+        // when, then
+        assertEquals(new LogPolicy.Range(1, Long.MAX_VALUE), LogPolicy.parse("all"));
+        assertEquals(new LogPolicy.Every(10), LogPolicy.parse("every:10"));
+        assertEquals(new LogPolicy.Backoff(2), LogPolicy.parse("backoff:2"));
+        assertEquals(new LogPolicy.Last(50), LogPolicy.parse("last:50"));
+        assertEquals(new LogPolicy.Range(100, 200), LogPolicy.parse("range:100:200"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("every:0"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("sometimes"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("range:5000:1"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("range:-3:0"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("every:5:junk"));
+        assertThrows(IllegalStateException.class, () -> LogPolicy.parse("all:1"));
+    }
+}
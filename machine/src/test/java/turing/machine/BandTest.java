@@ -10,7 +10,7 @@ class BandTest {
 
     @BeforeEach
     void setup() {
-        objectUnderTest = new Band();
+        objectUnderTest = new ArrayBand();
     }
 
     @Test
@@ -39,8 +39,8 @@ class BandTest {
         // then
         assertEquals("init#word#loner#than#initial#band#size", objectUnderTest.currentWord());
         assertEquals(1, objectUnderTest.headPos());
-        assertEquals(Band.INITIAL_SIZE + Band.EXPAND_SIZE, objectUnderTest.bandStr().length());
-        assertEquals("#init#word#loner#than#initial#band#size#########", objectUnderTest.bandStr());
+        assertEquals(2 * Band.INITIAL_SIZE, objectUnderTest.bandStr().length());
+        assertEquals("#init#word#loner#than#initial#band#size" + "#".repeat(25), objectUnderTest.bandStr());
     }
 
     @Test
@@ -55,9 +55,10 @@ class BandTest {
 
         // then
         assertEquals("yxord", objectUnderTest.currentWord());
-        assertEquals(Band.EXPAND_SIZE - 1, objectUnderTest.headPos());
-        assertEquals(Band.INITIAL_SIZE + Band.EXPAND_SIZE, objectUnderTest.bandStr().length());
-        assertEquals("################yxord###########################", objectUnderTest.bandStr());
+        assertEquals(Band.INITIAL_SIZE - 1, objectUnderTest.headPos());
+        assertEquals(-2, objectUnderTest.position());
+        assertEquals(2 * Band.INITIAL_SIZE, objectUnderTest.bandStr().length());
+        assertEquals("#".repeat(32) + "yxord" + "#".repeat(27), objectUnderTest.bandStr());
     }
 
     @Test
@@ -77,8 +78,9 @@ class BandTest {
         // then
         assertEquals("xxxxyyyyyyyyyyyyyyyyyyyyyyyyyyy", objectUnderTest.currentWord());
         assertEquals(Band.INITIAL_SIZE, objectUnderTest.headPos());
-        assertEquals(Band.INITIAL_SIZE + Band.EXPAND_SIZE, objectUnderTest.bandStr().length());
-        assertEquals("#xxxxyyyyyyyyyyyyyyyyyyyyyyyyyyy################", objectUnderTest.bandStr());
+        assertEquals(Band.INITIAL_SIZE - 1, objectUnderTest.position());
+        assertEquals(2 * Band.INITIAL_SIZE, objectUnderTest.bandStr().length());
+        assertEquals("#xxxxyyyyyyyyyyyyyyyyyyyyyyyyyyy" + "#".repeat(32), objectUnderTest.bandStr());
     }
 
     @Test
@@ -97,9 +99,10 @@ class BandTest {
 
         // then
         assertEquals("y".repeat(40), objectUnderTest.currentWord());
-        assertEquals(52, objectUnderTest.headPos());
-        assertEquals(Band.INITIAL_SIZE + 2 * Band.EXPAND_SIZE, objectUnderTest.bandStr().length());
-        assertEquals("############yyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyyy############", objectUnderTest.bandStr());
+        assertEquals(68, objectUnderTest.headPos());
+        assertEquals(35, objectUnderTest.position());
+        assertEquals(4 * Band.INITIAL_SIZE, objectUnderTest.bandStr().length());
+        assertEquals("#".repeat(28) + "y".repeat(40) + "#".repeat(60), objectUnderTest.bandStr());
     }
 
     @Test
@@ -123,13 +126,85 @@ class BandTest {
         }
 
         // then
-        assertEquals(
-                "cbaaaaaaaaaaaaaacbwordccccccccccccccccccccccccccdaccccccccccccccd",
-                objectUnderTest.currentWord());
-        assertEquals(Band.INITIAL_SIZE + 3 * Band.EXPAND_SIZE, objectUnderTest.headPos());
-        assertEquals(Band.INITIAL_SIZE + 4 * Band.EXPAND_SIZE, objectUnderTest.bandStr().length());
-        assertEquals(
-                "###############cbaaaaaaaaaaaaaacbwordccccccccccccccccccccccccccdaccccccccccccccd################",
-                objectUnderTest.bandStr());
+        var expected = "cb" + "a".repeat(30) + "cbword" + "c".repeat(26) + "da" + "c".repeat(62) + "d";
+        assertEquals(expected, objectUnderTest.currentWord());
+        assertEquals(8 * Band.INITIAL_SIZE, objectUnderTest.headPos());
+        assertEquals(16 * Band.INITIAL_SIZE, objectUnderTest.bandStr().length());
+        assertEquals("#".repeat(127) + expected + "#".repeat(256), objectUnderTest.bandStr());
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldKeepAbsolutePositionsWhenExpanding() {
+        // given
+        var word = "ab";
+
+        // when
+        objectUnderTest.reset(word);
+        for (int i = 0; i < 100; i++) {
+            objectUnderTest.write(objectUnderTest.read(), "L");
+        }
+        for (int i = 0; i < 300; i++) {
+            objectUnderTest.write(objectUnderTest.read(), "P");
+        }
+
+        // then
+        assertEquals(200, objectUnderTest.position());
+        assertEquals("ab", objectUnderTest.currentWord());
+        assertEquals('#', objectUnderTest.read());
+    }
+
+    @Test
+    void shouldTrimWordErasedAtBothEnds() {
+        // given
+        var word = "abcde";
+
+        // when
+        objectUnderTest.reset(word);
+        objectUnderTest.write('#', "P");
+        for (int i = 0; i < 3; i++) {
+            objectUnderTest.write(objectUnderTest.read(), "P");
+        }
+        objectUnderTest.write('#', "P");
+
+        // then
+        assertEquals("bcd", objectUnderTest.currentWord());
+        assertEquals(5, objectUnderTest.position());
+    }
+
+    @Test
+    void shouldShareSymbolIdsWithCharacters() {
+        // given
+        var band = new ArrayBand(new char[]{'#', 'a', 'b'});
+
+        // when
+        band.reset("ab");
+        band.write(2, Band.MOVE_RIGHT);
+        band.write(band.symbolId('c'), Band.MOVE_LEFT);
+
+        // then
+        assertEquals(3, band.symbolId('c'));
+        assertEquals(2, band.readSymbol());
+        assertEquals("bc", band.currentWord());
+    }
+
+    @Test
+    void shouldPreviewWindowAroundHead() {
+        // given
+        var paged = new PagedBand(new char[]{'#', 'a', 'b'});
+
+        // when
+        objectUnderTest.reset("ab");
+        paged.reset("ab");
+        for (int i = 0; i < 40; i++) {
+            objectUnderTest.write('a', "P");
+            paged.write('a', "P");
+        }
+
+        // then
+        for (var band : new Band[]{objectUnderTest, paged}) {
+            int head = band.headPos();
+            assertEquals(band.bandStr().substring(head - 8, head + 8), band.bandStr(head - 8, head + 8));
+            assertEquals(band.bandStr().substring(0, 4), band.bandStr(-4, 4));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchTest {
+
+    @Test
+    void shouldRunEveryWordOnEveryInputInOrder() throws URISyntaxException {
+        // given
+        var inputs = List.of(resource("/kopia_lustrzana_krotka.txt"), resource("/przykladowy_input.txt"));
+        var words = List.of("0", "", "1101");
+        var jobs = Batch.jobs(List.of(inputs.getFirst()), words, UTF_8);
+        jobs.addAll(Batch.jobs(List.of(inputs.getLast()), null, UTF_8));
+        var results = new ArrayList<Batch.Result>();
+
+        // when
+        new Batch(Engine.TABLE, Limits.NONE, Cmd.DEFAULT_DECIDER_STEPS, 4).run(jobs, results::add);
+
+        // then
+        assertEquals(4, results.size());
+        assertEquals(List.of("00", "", "11011011", "bb"),
+                results.stream().map(Batch.Result::computedWord).toList());
+        assertEquals(List.of(6L, 2L, 42L, 4L), results.stream().map(Batch.Result::iterations).toList());
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(jobs.get(i), results.get(i).job());
+        }
+    }
+
+    @Test
+    void shouldReturnDecidedVerdictLikeFullRun() throws URISyntaxException {
+        // given
+        var jobs = Batch.jobs(List.of(resource("/kopia_lustrzana_krotka.txt")), List.of("0", "", "1101"), UTF_8);
+        var decided = new ArrayList<Batch.Result>();
+        var executed = new ArrayList<Batch.Result>();
+
+        // when
+        new Batch(Engine.TABLE, Limits.NONE, Cmd.DEFAULT_DECIDER_STEPS, 2).run(jobs, decided::add);
+        new Batch(Engine.TABLE, Tape.PAGED, Limits.NONE, 0, 2).run(jobs, executed::add);
+
+        // then
+        for (int i = 0; i < jobs.size(); i++) {
+            assertEquals(executed.get(i).outcome(), decided.get(i).outcome());
+            assertEquals(executed.get(i).iterations(), decided.get(i).iterations());
+            assertEquals(executed.get(i).computedWord(), decided.get(i).computedWord());
+        }
+    }
+
+    @Test
+    void shouldRejectWordOutsideOfInputAlphabet() throws URISyntaxException {
+        // given
+        var inputs = List.of(resource("/kopia_lustrzana_krotka.txt"));
+        var words = List.of("01", "abc");
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> Batch.jobs(inputs, words, UTF_8));
+    }
+
+    private Path resource(String name) throws URISyntaxException {
+        return Path.of(getClass().getResource(name).toURI());
+    }
+}
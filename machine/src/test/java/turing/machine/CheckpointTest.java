@@ -0,0 +1,92 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CheckpointTest {
+    private static final Program COUNTER = Program.compile("R", Set.of(), Set.of(
+            new Transition("R", '0', "R", '0', "P"),
+            new Transition("R", '1', "R", '1', "P"),
+            new Transition("R", '#', "I", '#', "L"),
+            new Transition("I", '1', "I", '0', "L"),
+            new Transition("I", '0', "R", '1', "P"),
+            new Transition("I", '#', "R", '1', "P")));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldResumeFromCheckpointLikeUninterruptedRun() {
+        for (var engine : Engine.values()) {
+            // given
+            var path = dir.resolve(engine + ".checkpoint");
+            var expected = new Machine(COUNTER, engine);
+            expected.init("0");
+            expected.run(1_000_003);
+            var machine = new Machine(COUNTER, engine);
+            machine.init("0");
+            var checkpoint = new Checkpoint(path, 0, null);
+            var first = checkpoint.run(machine, Limits.NONE.withMaxSteps(400_001), 0);
+
+            // when
+            var resumed = new Machine(COUNTER, engine);
+            long iteration = Checkpoint.read(path, resumed);
+            var second = checkpoint.run(resumed, Limits.NONE.withMaxSteps(1_000_003 - iteration), iteration);
+
+            // then
+            var message = engine.toString();
+            assertEquals(new Run(Outcome.STEP_LIMIT, 400_001), first, message);
+            assertEquals(400_001, iteration, message);
+            assertEquals(new Run(Outcome.STEP_LIMIT, 600_002), second, message);
+            assertEquals(expected.state(), resumed.state(), message);
+            assertEquals(expected.band().currentWord(), resumed.band().currentWord(), message);
+            assertEquals(expected.band().position(), resumed.band().position(), message);
+        }
+    }
+
+    @Test
+    void shouldCheckpointEveryIntervalSteps() {
+        // given
+        var path = dir.resolve("counter.checkpoint");
+        var machine = new Machine(COUNTER);
+        machine.init("0");
+        var checkpoint = new Checkpoint(path, 1000, null);
+
+        // when
+        var run = checkpoint.run(machine, Limits.NONE.withMaxSteps(2500), 0);
+        var resumed = new Machine(COUNTER);
+        long iteration = Checkpoint.read(path, resumed);
+
+        // then
+        assertEquals(new Run(Outcome.STEP_LIMIT, 2500), run);
+        assertEquals(2500, iteration);
+        assertEquals(machine.band().currentWord(), resumed.band().currentWord());
+        assertFalse(Files.exists(dir.resolve("counter.checkpoint.tmp")));
+    }
+
+    @Test
+    void shouldRejectCheckpointOfOtherMachine() {
+        // given
+        var path = dir.resolve("counter.checkpoint");
+        var machine = new Machine(COUNTER);
+        machine.init("0");
+        machine.run(100);
+        Checkpoint.write(machine, 100, path);
+        var other = Program.compile("R", Set.of(), Set.of(new Transition("R", '0', "R", '1', "P")));
+
+        // when
+        var exception = assertThrows(IllegalStateException.class, () -> Checkpoint.read(path, new Machine(other)));
+
+        // then
+        assertTrue(exception.getMessage().contains("does not match"));
+    }
+}
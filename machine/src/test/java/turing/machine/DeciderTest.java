@@ -0,0 +1,103 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DeciderTest {
+    private static final long MAX_STEPS = 1_000_000;
+
+    @Test
+    void shouldDecideHaltingMachinesLikeMachine() {
+        for (var input : new String[]{"/kopia_lustrzana_rozszerzanie_tasmy.txt", "/blad_po_pierwszym_przejsciu.txt"}) {
+            // given
+            var settings = Settings.parse(getClass().getResourceAsStream(input), UTF_8);
+            var program = Program.compile(settings);
+            var machine = new Machine(program);
+
+            // when
+            machine.init(settings.word());
+            var run = machine.run(Limits.NONE);
+            var verdict = new Decider(program).decide(settings.word(), MAX_STEPS);
+
+            // then
+            assertEquals(new Decider.Verdict(run.outcome(), run.steps(), 0, 0), verdict, input);
+        }
+    }
+
+    @Test
+    void shouldDetectExactCycle() {
+        // given
+        var program = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", 'a', "B", 'b', "P"),
+                new Transition("B", 'a', "C", 'c', "L"),
+                new Transition("C", 'b', "D", 'a', "P"),
+                new Transition("D", 'c', "A", 'a', "L")));
+
+        // when
+        var verdict = new Decider(program).decide("aa", MAX_STEPS);
+
+        // then
+        assertEquals(Outcome.NEVER_HALTS, verdict.outcome());
+        assertEquals(4, verdict.period());
+        assertEquals(0, verdict.shift());
+    }
+
+    @Test
+    void shouldDetectTranslatedCycleToTheRight() {
+        // given
+        var program = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", '#', "B", 'a', "P"),
+                new Transition("B", '#', "C", 'b', "L"),
+                new Transition("C", 'a', "D", 'a', "P"),
+                new Transition("D", 'b', "A", 'b', "P")));
+
+        // when
+        var verdict = new Decider(program).decide("", MAX_STEPS);
+
+        // then
+        assertEquals(Outcome.NEVER_HALTS, verdict.outcome());
+        assertEquals(4, verdict.period());
+        assertEquals(2, verdict.shift());
+    }
+
+    @Test
+    void shouldDetectTranslatedCycleToTheLeftAfterReadingWord() {
+        // given
+        var program = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", 'c', "A", 'c', "P"),
+                new Transition("A", '#', "B", '#', "L"),
+                new Transition("B", 'c', "B", 'c', "L"),
+                new Transition("B", '#', "C", 'a', "L"),
+                new Transition("C", '#', "B", 'b', "L")));
+
+        // when
+        var verdict = new Decider(program).decide("ccc", MAX_STEPS);
+
+        // then
+        assertEquals(Outcome.NEVER_HALTS, verdict.outcome());
+        assertEquals(2, verdict.period());
+        assertEquals(-2, verdict.shift());
+    }
+
+    @Test
+    void shouldNotDecideBinaryCounter() {
+        // given
+        var program = Program.compile("R", Set.of(), Set.of(
+                new Transition("R", '0', "R", '0', "P"),
+                new Transition("R", '1', "R", '1', "P"),
+                new Transition("R", '#', "I", '#', "L"),
+                new Transition("I", '1', "I", '0', "L"),
+                new Transition("I", '0', "R", '1', "P"),
+                new Transition("I", '#', "R", '1', "P")));
+
+        // when
+        var verdict = new Decider(program).decide("0", MAX_STEPS);
+
+        // then
+        assertEquals(new Decider.Verdict(Outcome.STEP_LIMIT, MAX_STEPS, 0, 0), verdict);
+    }
+}
@@ -0,0 +1,135 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EngineTest {
+    private static final String[] INPUTS = {
+            "/przykladowy_input.txt",
+            "/rozszerzanie_tasmy_z_lewej_dodaje_b_na_poczatku_slowa.txt",
+            "/blad_po_pierwszym_przejsciu.txt",
+            "/kopia_lustrzana_krotka.txt",
+            "/kopia_lustrzana_rozszerzanie_tasmy.txt"
+    };
+
+    @Test
+    void shouldRunEveryEngineLikeTableEngine() {
+        for (var engine : Engine.values()) {
+            for (var input : INPUTS) {
+                // given
+                var settings = Settings.parse(getClass().getResourceAsStream(input), UTF_8);
+                var program = Program.compile(settings);
+                var table = new Machine(program, Engine.TABLE);
+                var machine = new Machine(program, engine);
+
+                // when
+                table.init(settings.word());
+                machine.init(settings.word());
+                long tableSteps = table.run(Long.MAX_VALUE);
+                long steps = machine.run(Long.MAX_VALUE);
+
+                // then
+                var message = engine + " " + input;
+                assertEquals(tableSteps, steps, message);
+                assertEquals(table.state(), machine.state(), message);
+                assertEquals(table.isInFinalState(), machine.isInFinalState(), message);
+                assertEquals(table.band().currentWord(), machine.band().currentWord(), message);
+                assertEquals(table.band().position(), machine.band().position(), message);
+            }
+        }
+    }
+
+    @Test
+    void shouldStopBytecodeEngineAfterMaxSteps() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+        var machine = new Machine(Program.compile(settings), Engine.BYTECODE);
+
+        // when
+        machine.init(settings.word());
+        long steps = 0;
+        for (var chunk = machine.run(100); chunk > 0; chunk = machine.run(100)) {
+            steps += chunk;
+        }
+
+        // then
+        assertEquals(1406, steps);
+        assertEquals("G", machine.state());
+        assertEquals(settings.word() + new StringBuilder(settings.word()).reverse(), machine.band().currentWord());
+    }
+
+    @Test
+    void shouldRunBytecodeEngineWithManyStates() {
+        // given
+        int count = 300;
+        var transitions = new HashSet<Transition>();
+        for (int i = 0; i < count; i++) {
+            transitions.add(new Transition("q" + i, '#', "q" + (i + 1), i % 2 == 0 ? 'a' : 'b', "P"));
+        }
+        var program = Program.compile("q0", Set.of("q" + count), transitions);
+        var table = new Machine(program, Engine.TABLE);
+        var bytecode = new Machine(program, Engine.BYTECODE);
+
+        // when
+        table.init("");
+        bytecode.init("");
+        long tableSteps = table.run(Long.MAX_VALUE);
+        long bytecodeSteps = bytecode.run(Long.MAX_VALUE);
+
+        // then
+        assertEquals(count, bytecodeSteps);
+        assertEquals(tableSteps, bytecodeSteps);
+        assertEquals("q" + count, bytecode.state());
+        assertEquals(table.band().currentWord(), bytecode.band().currentWord());
+    }
+
+    @Test
+    void shouldRejectMachineTooLargeForBytecode() {
+        // given
+        var transitions = new HashSet<Transition>();
+        for (int i = 0; i < 5000; i++) {
+            transitions.add(new Transition("q" + i, '#', "q" + (i + 1), '#', "P"));
+        }
+        var program = Program.compile("q0", Set.of(), transitions);
+
+        // when, then
+        assertThrows(IllegalStateException.class, () -> new Machine(program, Engine.BYTECODE));
+    }
+
+    @Test
+    void shouldCountExactStepsOfMacroEngine() {
+        // given
+        var transitions = Set.of(
+                new Transition("R", '0', "R", '0', "P"),
+                new Transition("R", '1', "R", '1', "P"),
+                new Transition("R", '#', "I", '#', "L"),
+                new Transition("I", '1', "I", '0', "L"),
+                new Transition("I", '0', "R", '1', "P"),
+                new Transition("I", '#', "R", '1', "P"));
+        var program = Program.compile("R", Set.of(), transitions);
+        var table = new Machine(program, Engine.TABLE);
+        var macro = new Machine(program, Engine.MACRO);
+
+        // when
+        table.init("0");
+        macro.init("0");
+        long tableSteps = table.run(1_000_003);
+        long macroSteps = 0;
+        for (long chunk = 77_777; macroSteps < 1_000_003; ) {
+            macroSteps += macro.run(Math.min(chunk, 1_000_003 - macroSteps));
+        }
+
+        // then
+        assertEquals(1_000_003, tableSteps);
+        assertEquals(tableSteps, macroSteps);
+        assertEquals(table.state(), macro.state());
+        assertEquals(table.band().currentWord(), macro.band().currentWord());
+        assertEquals(table.band().position(), macro.band().position());
+    }
+}
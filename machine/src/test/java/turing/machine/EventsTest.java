@@ -0,0 +1,78 @@
+package turing.machine;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EventsTest {
+    private static final String INPUT = "/kopia_lustrzana_rozszerzanie_tasmy.txt";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRecordRunEvents() throws IOException {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+
+        // when
+        var events = record(() -> {
+            machine.init(settings.word());
+            machine.run(Limits.NONE);
+        });
+
+        // then
+        var start = single(events, "turing.machine.RunStart");
+        var end = single(events, "turing.machine.Run");
+        assertEquals(machine.program().hash(), start.getString("hash"));
+        assertEquals(settings.word().length(), end.getLong("wordLength"));
+        assertEquals("ACCEPTED", end.getString("outcome"));
+        assertEquals(machine.band().currentWord().length(), end.getLong("tapeLength"));
+        long steps = events.stream().filter(e -> e.getEventType().getName().equals("turing.machine.StepBatch"))
+                .mapToLong(e -> e.getLong("steps")).sum();
+        assertEquals(end.getLong("iterations"), steps);
+        assertTrue(events.stream().anyMatch(e -> e.getEventType().getName().equals("turing.machine.BandGrowth")));
+    }
+
+    @Test
+    void shouldRecordParseAndValidateEvents() throws IOException {
+        // when
+        var events = record(() -> Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8).validate());
+
+        // then
+        var stages = events.stream().filter(e -> e.getEventType().getName().equals("turing.machine.Parse"))
+                .map(e -> e.getString("stage")).toList();
+        assertEquals(List.of("Settings.parse", "Settings.validate"), stages);
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        var file = dir.resolve("events.jfr");
+        try (var recording = new Recording()) {
+            for (var name : List.of("RunStart", "Run", "StepBatch", "BandGrowth", "Parse")) {
+                recording.enable("turing.machine." + name).withoutThreshold();
+            }
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        var matching = events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+        assertEquals(1, matching.size(), name);
+        return matching.getFirst();
+    }
+}
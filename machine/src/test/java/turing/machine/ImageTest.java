@@ -0,0 +1,124 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class ImageTest {
+    private static final String[] INPUTS = {
+            "/przykladowy_input.txt",
+            "/rozszerzanie_tasmy_z_lewej_dodaje_b_na_poczatku_slowa.txt",
+            "/kopia_lustrzana_krotka.txt",
+            "/kopia_lustrzana_rozszerzanie_tasmy.txt"
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRestoreProgramAndSettingsFromImage() throws Exception {
+        for (var input : INPUTS) {
+            // given
+            var parsed = Parser.parse(Path.of(getClass().getResource(input).toURI()), UTF_8);
+            var image = dir.resolve("machine.tmi");
+
+            // when
+            Image.write(parsed, image);
+            var restored = Image.read(image);
+
+            // then
+            assertEquals(parsed.program().hash(), restored.program().hash(), input);
+            assertEquals(parsed.settings().word(), restored.settings().word(), input);
+            assertEquals(parsed.settings().bandAlphabet(), restored.settings().bandAlphabet(), input);
+            assertEquals(parsed.settings().inputAlphabet(), restored.settings().inputAlphabet(), input);
+            assertEquals(parsed.settings().startState(), restored.settings().startState(), input);
+            assertEquals(parsed.settings().finalStates(), restored.settings().finalStates(), input);
+            assertEquals(parsed.settings().transitions(), restored.settings().transitions(), input);
+        }
+    }
+
+    @Test
+    void shouldReuseImageUntilInputChanges() throws IOException {
+        // given
+        var input = dir.resolve("input.txt");
+        var cache = dir.resolve("cache");
+        Files.copy(getClass().getResourceAsStream(INPUTS[0]), input);
+        var parsed = Image.load(input, UTF_8, cache, message -> fail(message));
+
+        // when
+        var cached = Image.load(input, UTF_8, cache, message -> fail(message));
+        Files.writeString(input, Files.readString(input).replace("slowo wejsciowe:\n", "slowo wejsciowe:\nb"));
+        var changed = Image.load(input, UTF_8, cache, message -> fail(message));
+
+        // then
+        assertEquals(parsed.program().hash(), cached.program().hash());
+        assertEquals(parsed.settings().word(), cached.settings().word());
+        assertEquals("b" + parsed.settings().word(), changed.settings().word());
+        assertNotEquals(Image.hash(input, UTF_8), Image.hash(input, ISO_8859_1));
+        try (var images = Files.list(cache)) {
+            assertEquals(2, images.count());
+        }
+    }
+
+    @Test
+    void shouldRejectDamagedImage() throws Exception {
+        // given
+        var image = dir.resolve("machine.tmi");
+        Image.write(Parser.parse(Path.of(getClass().getResource(INPUTS[0]).toURI()), UTF_8), image);
+        var bytes = Files.readAllBytes(image);
+        Files.write(image, Arrays.copyOf(bytes, bytes.length / 2));
+
+        // when
+        var error = assertThrows(IllegalStateException.class, () -> Image.read(image));
+
+        // then
+        assertEquals("Damaged machine image: " + image, error.getMessage());
+    }
+
+    @Test
+    void shouldRejectImageWithActionOutOfRange() throws Exception {
+        // given
+        var image = dir.resolve("machine.tmi");
+        var parsed = Parser.parse(Path.of(getClass().getResource(INPUTS[0]).toURI()), UTF_8);
+        Image.write(parsed, image);
+        var bytes = Files.readAllBytes(image);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - Integer.BYTES,
+                Program.action(parsed.program().stateCount(), 0, Band.MOVE_RIGHT));
+        Files.write(image, bytes);
+
+        // when
+        var error = assertThrows(IllegalStateException.class, () -> Image.read(image));
+
+        // then
+        assertEquals("Damaged machine image: " + image, error.getMessage());
+    }
+
+    @Test
+    void shouldRejectImageWithOversizedHeader() throws Exception {
+        // given
+        var image = dir.resolve("machine.tmi");
+        Image.write(Parser.parse(Path.of(getClass().getResource(INPUTS[0]).toURI()), UTF_8), image);
+        var bytes = Files.readAllBytes(image);
+        ByteBuffer.wrap(bytes).putInt(2 * Integer.BYTES, Program.MAX_STATES);
+        Files.write(image, bytes);
+
+        // when
+        var error = assertThrows(IllegalStateException.class, () -> Image.read(image));
+
+        // then
+        assertEquals("Damaged machine image: " + image, error.getMessage());
+        assertEquals("Truncated states", error.getCause().getMessage());
+    }
+}
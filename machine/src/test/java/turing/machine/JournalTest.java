@@ -0,0 +1,89 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalTest {
+    private static final Program COUNTER = Program.compile("R", Set.of(), Set.of(
+            new Transition("R", '0', "R", '0', "P"),
+            new Transition("R", '1', "R", '1', "P"),
+            new Transition("R", '#', "I", '#', "L"),
+            new Transition("I", '1', "I", '0', "L"),
+            new Transition("I", '0', "R", '1', "P"),
+            new Transition("I", '#', "R", '1', "P")));
+
+    @Test
+    void shouldStepBackToEveryPreviousState() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+        var program = Program.compile(settings);
+        var journal = new Journal(new Machine(program));
+        journal.init(settings.word());
+        while (journal.proceed() != null) {
+        }
+        long steps = journal.steps();
+
+        // when, then
+        for (long step = steps; step >= 0; step--) {
+            assertTrue(journal.backTo(step));
+            var expected = new Machine(program);
+            expected.init(settings.word());
+            expected.run(step);
+            var machine = journal.machine();
+            assertEquals(expected.state(), machine.state(), "step " + step);
+            assertEquals(expected.band().currentWord(), machine.band().currentWord(), "step " + step);
+            assertEquals(expected.band().position(), machine.band().position(), "step " + step);
+        }
+        assertFalse(journal.back());
+    }
+
+    @Test
+    void shouldSpillJournalToDisk() {
+        // given
+        try (var journal = new Journal(new Machine(COUNTER), 1024, 1 << 20)) {
+            journal.init("0");
+            for (int i = 0; i < 100_003; i++) {
+                journal.proceed();
+            }
+
+            // when
+            boolean back = journal.backTo(12_345);
+
+            // then
+            var expected = new Machine(COUNTER);
+            expected.init("0");
+            expected.run(12_345);
+            assertTrue(back);
+            assertEquals(0, journal.horizon());
+            assertEquals(expected.state(), journal.machine().state());
+            assertEquals(expected.band().currentWord(), journal.machine().band().currentWord());
+            assertEquals(expected.band().position(), journal.machine().band().position());
+        }
+    }
+
+    @Test
+    void shouldForgetStepsBeyondMaxSteps() {
+        // given
+        try (var journal = new Journal(new Machine(COUNTER), 1024, 4096)) {
+            journal.init("0");
+            for (int i = 0; i < 100_000; i++) {
+                journal.proceed();
+            }
+
+            // when
+            long horizon = journal.horizon();
+            boolean back = journal.backTo(0);
+
+            // then
+            assertFalse(back);
+            assertEquals(horizon, journal.steps());
+            assertTrue(horizon > 0 && 100_000 - horizon <= 4096);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitsTest {
+    private static final Program RUNAWAY = Program.compile("q0", Set.of("q1"), Set.of(
+            new Transition("q0", '#', "q0", 'a', "P"),
+            new Transition("q0", 'a', "q0", 'a', "P")));
+
+    @Test
+    void shouldAcceptAndRejectWithinLimits() {
+        // given
+        var accepting = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_krotka.txt"), UTF_8);
+        var rejecting = Settings.parse(getClass().getResourceAsStream("/blad_po_pierwszym_przejsciu.txt"), UTF_8);
+        var acceptingMachine = new Machine(Program.compile(accepting));
+        var rejectingMachine = new Machine(Program.compile(rejecting));
+
+        // when
+        acceptingMachine.init(accepting.word());
+        rejectingMachine.init(rejecting.word());
+        var accepted = acceptingMachine.run(Limits.NONE);
+        var rejected = rejectingMachine.run(Limits.NONE.withMaxSteps(1));
+
+        // then
+        assertEquals(new Run(Outcome.ACCEPTED, 62), accepted);
+        assertEquals(new Run(Outcome.REJECTED, 1), rejected);
+    }
+
+    @Test
+    void shouldStopRunawayMachineAfterMaxSteps() {
+        for (var engine : Engine.values()) {
+            // given
+            var machine = new Machine(RUNAWAY, engine);
+
+            // when
+            machine.init("");
+            var run = machine.run(Limits.NONE.withMaxSteps(1_000_003));
+
+            // then
+            assertEquals(new Run(Outcome.STEP_LIMIT, 1_000_003), run, engine.name());
+            assertEquals(1_000_003, machine.band().position(), engine.name());
+        }
+    }
+
+    @Test
+    void shouldStopRunawayMachineBeforeExceedingMaxBandSize() {
+        for (var engine : Engine.values()) {
+            // given
+            var machine = new Machine(RUNAWAY, engine);
+
+            // when
+            machine.init("");
+            var run = machine.run(Limits.NONE.withMaxTapeSize(100));
+
+            // then
+            assertEquals(new Run(Outcome.OUT_OF_TAPE, 98), run, engine.name());
+            assertEquals(100, machine.band().length(), engine.name());
+        }
+    }
+
+    @Test
+    void shouldStopRunawayMachineAfterTimeout() {
+        // given
+        var machine = new Machine(RUNAWAY);
+
+        // when
+        machine.init("");
+        var run = machine.run(Limits.NONE.withTimeout(Duration.ofMillis(50)));
+
+        // then
+        assertEquals(Outcome.TIMEOUT, run.outcome());
+        assertTrue(run.steps() > 0);
+    }
+
+    @Test
+    void shouldMeasureTimeoutFromRunStart() throws Exception {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_krotka.txt"), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+        var limits = Limits.NONE.withTimeout(Duration.ofMillis(100));
+
+        // when
+        TimeUnit.MILLISECONDS.sleep(200);
+        machine.init(settings.word());
+        var run = machine.run(limits);
+
+        // then
+        assertEquals(new Run(Outcome.ACCEPTED, 62), run);
+    }
+
+    @Test
+    void shouldStopCancelledMachine() throws Exception {
+        // given
+        var machine = new Machine(RUNAWAY);
+        machine.init("");
+
+        // when
+        var run = CompletableFuture.supplyAsync(() -> machine.run(Limits.NONE));
+        TimeUnit.MILLISECONDS.sleep(50);
+        machine.cancel();
+
+        // then
+        assertEquals(Outcome.CANCELLED, run.get(10, TimeUnit.SECONDS).outcome());
+    }
+}
@@ -0,0 +1,122 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.LongBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListenerTest {
+    private static final String INPUT = "/kopia_lustrzana_rozszerzanie_tasmy.txt";
+
+    @Test
+    void shouldReportStepBatchesGrowthAndHalt() {
+        for (var engine : Engine.values()) {
+            // given
+            var settings = Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+            var machine = new Machine(Program.compile(settings), engine);
+            var listener = new Recording(false);
+            machine.addListener(listener);
+
+            // when
+            machine.init(settings.word());
+            var run = machine.run(Limits.NONE);
+
+            // then
+            assertEquals(run.steps(), listener.steps, engine.name());
+            assertEquals(List.of(run), listener.halts, engine.name());
+            assertTrue(!listener.capacities.isEmpty(), engine.name());
+            assertEquals(machine.band().capacity(), listener.capacities.getLast(), engine.name());
+        }
+    }
+
+    @Test
+    void shouldCountStateEntries() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var program = Program.compile(settings);
+        var machine = new Machine(program, Engine.TABLE);
+        var plain = new Machine(program, Engine.BYTECODE);
+        var listener = new Recording(true);
+        machine.addListener(listener);
+
+        // when
+        machine.init(settings.word());
+        plain.init(settings.word());
+        var run = machine.run(Limits.NONE);
+        var plainRun = plain.run(Limits.NONE);
+
+        // then
+        assertEquals(plainRun, run);
+        assertEquals(plain.band().currentWord(), machine.band().currentWord());
+        long total = 0;
+        for (var count : listener.entries) {
+            total += count;
+        }
+        assertEquals(run.steps() + 1, total);
+        assertEquals(1, listener.entries[program.stateId(machine.state())]);
+        assertThrows(IllegalStateException.class, () -> plain.addListener(new Recording(true)));
+    }
+
+    @Test
+    void shouldStopNotifyingRemovedListener() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+        var listener = new Recording(true);
+        machine.addListener(listener);
+        machine.init(settings.word());
+        machine.proceed();
+
+        // when
+        machine.removeListener(listener);
+        machine.run(Limits.NONE);
+
+        // then
+        assertEquals(1, listener.steps);
+        assertTrue(listener.halts.isEmpty());
+    }
+
+    private static final class Recording implements Listener {
+        private final boolean countsStates;
+        private final List<Long> capacities = new ArrayList<>();
+        private final List<Run> halts = new ArrayList<>();
+        private long steps;
+        private long[] entries;
+
+        Recording(boolean countsStates) {
+            this.countsStates = countsStates;
+        }
+
+        @Override
+        public void steps(long steps) {
+            this.steps += steps;
+        }
+
+        @Override
+        public void bandGrown(long capacity) {
+            capacities.add(capacity);
+        }
+
+        @Override
+        public boolean countsStates() {
+            return countsStates;
+        }
+
+        @Override
+        public void stateEntries(LongBuffer entries) {
+            this.entries = new long[entries.remaining()];
+            entries.get(this.entries);
+        }
+
+        @Override
+        public void halted(Run run) {
+            halts.add(run);
+        }
+    }
+}
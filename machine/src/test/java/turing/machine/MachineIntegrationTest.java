@@ -82,7 +82,7 @@ class MachineIntegrationTest {
         assertTrue(machine.isInFinalState());
         assertEquals("bbbb", machine.band().currentWord());
         assertEquals(2, transitionCount);
-        assertEquals(48, machine.band().length());
+        assertEquals(64, machine.band().length());
     }
 
     @Test
@@ -158,7 +158,7 @@ class MachineIntegrationTest {
     }
 
     @Test
-    void shouldMirrorLongerInputWordExpandingBandOnTheRightTwice() {
+    void shouldMirrorLongerInputWordExpandingBandOnTheRight() {
         // given
         var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
         var machine = new Machine(settings.startState(), settings.finalStates(), settings.transitions());
@@ -194,4 +194,55 @@ class MachineIntegrationTest {
         assertEquals(settings.word() + new StringBuilder(settings.word()).reverse(), machine.band().currentWord());
         assertEquals(1406, transitionCount);
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldRunCompiledMachineToTheSameResultAsStepping() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_rozszerzanie_tasmy.txt"), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+
+        // when
+        machine.init(settings.word());
+        long transitionCount = machine.run(Long.MAX_VALUE);
+
+        // then
+        assertTrue(machine.isInFinalState());
+        assertEquals("G", machine.state());
+        assertEquals(settings.word() + new StringBuilder(settings.word()).reverse(), machine.band().currentWord());
+        assertEquals(1406, transitionCount);
+    }
+
+    @Test
+    void shouldStopCompiledMachineAfterMaxSteps() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/kopia_lustrzana_krotka.txt"), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+
+        // when
+        machine.init(settings.word());
+        long first = machine.run(50);
+        long second = machine.run(Long.MAX_VALUE);
+
+        // then
+        assertEquals(50, first);
+        assertEquals(12, second);
+        assertTrue(machine.isInFinalState());
+        assertEquals(settings.word() + new StringBuilder(settings.word()).reverse(), machine.band().currentWord());
+    }
+
+    @Test
+    void shouldHaltCompiledMachineInNonAcceptingState() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream("/blad_po_pierwszym_przejsciu.txt"), UTF_8);
+        var machine = new Machine(Program.compile(settings));
+
+        // when
+        machine.init(settings.word());
+        long transitionCount = machine.run(Long.MAX_VALUE);
+
+        // then
+        assertFalse(machine.isInFinalState());
+        assertEquals(1, transitionCount);
+        assertEquals("bab", machine.band().currentWord());
+    }
+}
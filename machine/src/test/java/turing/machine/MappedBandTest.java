@@ -0,0 +1,116 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedBandTest {
+    private static final String[] INPUTS = {
+            "/przykladowy_input.txt",
+            "/rozszerzanie_tasmy_z_lewej_dodaje_b_na_poczatku_slowa.txt",
+            "/kopia_lustrzana_krotka.txt",
+            "/kopia_lustrzana_rozszerzanie_tasmy.txt"
+    };
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldRunEveryEngineOnMappedBandLikeOnArrayBand() {
+        for (var engine : Engine.values()) {
+            for (var input : INPUTS) {
+                // given
+                var settings = Settings.parse(getClass().getResourceAsStream(input), UTF_8);
+                var program = Program.compile(settings);
+                var array = new Machine(program, Engine.TABLE);
+                var mapped = new Machine(program, engine, Tape.MAPPED);
+
+                // when
+                array.init(settings.word());
+                mapped.init(settings.word());
+                long arraySteps = array.run(Long.MAX_VALUE);
+                long mappedSteps = mapped.run(Long.MAX_VALUE);
+
+                // then
+                var message = engine + " " + input;
+                assertEquals(arraySteps, mappedSteps, message);
+                assertEquals(array.state(), mapped.state(), message);
+                assertEquals(array.band().currentWord(), mapped.band().currentWord(), message);
+                assertEquals(array.band().position(), mapped.band().position(), message);
+                ((MappedBand) mapped.band()).close();
+            }
+        }
+    }
+
+    @Test
+    void shouldSpanMoreCellsThanArrayBand() {
+        // given
+        try (var band = new MappedBand(new char[]{'#', 'a', 'b'}, dir)) {
+            band.reset("ab");
+
+            // when
+            band.moveTo(-2_000_000_000);
+            band.write(band.symbolId('b'), Band.MOVE_LEFT);
+            band.moveTo(2_000_000_000);
+            band.write(band.symbolId('a'), Band.MOVE_RIGHT);
+
+            // then
+            assertEquals(4_000_000_003L, band.size());
+            assertEquals(-2_000_000_000, band.leftmost());
+            assertEquals(2_000_000_000, band.rightmost());
+            assertEquals(band.symbolId('b'), band.symbolAt(-2_000_000_000));
+            assertEquals(band.symbolId('a'), band.symbolAt(2_000_000_000));
+            assertEquals(Band.EMPTY_SYMBOL, band.symbolAt(1_000_000_000));
+            assertEquals("ab", band.cells(0, 2));
+        }
+    }
+
+    @Test
+    void shouldStopAtEndOfAddressableTape() {
+        // given
+        var program = Program.compile("A", Set.of(), List.of(
+                new Transition("A", '#', "A", 'a', "P"),
+                new Transition("A", 'a', "A", 'a', "P")));
+        var machine = new Machine(program, Engine.TABLE, Tape.MAPPED);
+        machine.init("");
+        var band = (MappedBand) machine.band();
+        band.moveTo(Integer.MAX_VALUE - 3);
+
+        // when
+        var run = machine.run(Limits.NONE);
+
+        // then
+        assertEquals(new Run(Outcome.OUT_OF_TAPE, 3), run);
+        assertEquals(Integer.MAX_VALUE, band.position());
+        assertThrows(IllegalStateException.class, () -> band.write(band.symbolId('a'), Band.MOVE_RIGHT));
+        assertEquals(Integer.MAX_VALUE, band.position());
+        band.close();
+    }
+
+    @Test
+    void shouldStreamCurrentWordToFile() throws IOException {
+        // given
+        try (var band = new MappedBand(new char[]{'#', 'a', 'b'}, dir)) {
+            band.reset("ab");
+            band.writeAt(-3, band.symbolId('a'));
+            band.writeAt(100_000, band.symbolId('b'));
+            var word = dir.resolve("word.txt");
+
+            // when
+            long length = band.writeWord(word);
+
+            // then
+            assertEquals(100_004, length);
+            assertEquals(band.currentWord(), Files.readString(word));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.stream.LongStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiMachineTest {
+    private static final String INPUT = "/wielotasmowa_anbn.txt";
+
+    @Test
+    void shouldStepAllHeadsAtOnce() throws Exception {
+        // given
+        var path = Path.of(getClass().getResource(INPUT).toURI());
+        var settings = MultiSettings.parse(path, UTF_8);
+        settings.validate();
+        var machine = new MultiMachine(MultiProgram.compile(settings));
+
+        // when
+        machine.init(settings.word());
+        var run = machine.run(Limits.NONE);
+
+        // then
+        assertTrue(MultiSettings.isMultiTape(path, UTF_8));
+        assertEquals(new Run(Outcome.ACCEPTED, 8), run);
+        assertEquals("aaabbb", machine.band(0).currentWord());
+        assertEquals("aaa", machine.band(1).currentWord());
+        assertEquals(6, machine.band(0).position());
+        assertEquals(-1, machine.band(1).position());
+    }
+
+    @Test
+    void shouldRejectAndStopAtLimits() {
+        // given
+        var settings = MultiSettings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var program = MultiProgram.compile(settings);
+        var machine = new MultiMachine(program, Tape.PAGED);
+
+        // when
+        machine.init("aabbb");
+        var rejected = machine.run(Limits.NONE);
+        machine.init("aaabbb");
+        var stopped = machine.run(Limits.NONE.withMaxSteps(5));
+        var transition = machine.proceed();
+
+        // then
+        assertEquals(new Run(Outcome.REJECTED, 5), rejected);
+        assertEquals(new Run(Outcome.STEP_LIMIT, 5), stopped);
+        assertEquals(new MultiTransition("q1", "ba", "q1", "ba", "PL"), transition);
+        assertFalse(machine.isInFinalState());
+    }
+
+    @Test
+    void shouldRejectMismatchedTuples() {
+        // given
+        var settings = MultiSettings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var invalid = new MultiSettings(settings.bandAlphabet(), settings.inputAlphabet(), settings.word(),
+                settings.states(), settings.startState(), settings.finalStates(), 3, settings.transitions());
+
+        // when
+        var error = assertThrows(IllegalStateException.class, invalid::validate);
+
+        // then
+        assertEquals("Invalid transition", error.getMessage());
+        assertTrue(error.getCause().getMessage().startsWith("Expected 3 symbols but was"));
+    }
+
+    @Test
+    void shouldReportEachStep() {
+        // given
+        var settings = MultiSettings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var program = MultiProgram.compile(settings);
+        var machine = new MultiMachine(program);
+        var stepping = new MultiMachine(program);
+        var expected = new ArrayList<MultiTransition>();
+        var actual = new ArrayList<MultiTransition>();
+        var iterations = new ArrayList<Long>();
+        stepping.init("aaabbb");
+        for (var transition = stepping.proceed(); transition != null; transition = stepping.proceed()) {
+            expected.add(transition);
+        }
+
+        // when
+        machine.init("aaabbb");
+        var run = machine.run(Limits.NONE, (transition, iteration) -> {
+            actual.add(transition);
+            iterations.add(iteration);
+        });
+
+        // then
+        assertEquals(new Run(Outcome.ACCEPTED, 8), run);
+        assertEquals(expected, actual);
+        assertEquals(LongStream.rangeClosed(1, 8).boxed().toList(), iterations);
+    }
+}
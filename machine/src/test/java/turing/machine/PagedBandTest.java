@@ -0,0 +1,108 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class PagedBandTest {
+    private static final String[] INPUTS = {
+            "/przykladowy_input.txt",
+            "/rozszerzanie_tasmy_z_lewej_dodaje_b_na_poczatku_slowa.txt",
+            "/kopia_lustrzana_krotka.txt",
+            "/kopia_lustrzana_rozszerzanie_tasmy.txt"
+    };
+
+    @Test
+    void shouldRunEveryEngineOnPagedBandLikeOnArrayBand() {
+        for (var engine : Engine.values()) {
+            for (var input : INPUTS) {
+                // given
+                var settings = Settings.parse(getClass().getResourceAsStream(input), UTF_8);
+                var program = Program.compile(settings);
+                var array = new Machine(program, Engine.TABLE);
+                var paged = new Machine(program, engine, Tape.PAGED);
+
+                // when
+                array.init(settings.word());
+                paged.init(settings.word());
+                long arraySteps = array.run(Long.MAX_VALUE);
+                long pagedSteps = paged.run(Long.MAX_VALUE);
+
+                // then
+                var message = engine + " " + input;
+                assertEquals(arraySteps, pagedSteps, message);
+                assertEquals(array.state(), paged.state(), message);
+                assertEquals(array.band().currentWord(), paged.band().currentWord(), message);
+                assertEquals(array.band().position(), paged.band().position(), message);
+            }
+        }
+    }
+
+    @Test
+    void shouldAllocateOnlyWrittenPages() {
+        // given
+        var band = new PagedBand(new char[]{'#', 'a'});
+        band.reset("a");
+
+        // when
+        band.writeAt(-10_000_000, band.symbolId('a'));
+        band.writeAt(10_000_000, band.symbolId('a'));
+        band.moveTo(5_000_000);
+        band.write(Band.EMPTY_SYMBOL, Band.MOVE_RIGHT);
+
+        // then
+        assertEquals(3, band.pageCount());
+        assertEquals(Band.EMPTY_CHARACTER, band.read());
+        assertEquals(5_000_001, band.position());
+        assertEquals(20_000_001, band.currentWord().length());
+        assertEquals("a", band.currentWord().substring(10_000_000, 10_000_001));
+    }
+
+    @Test
+    void shouldStopWhenPagedBandWouldExceedMaxSize() {
+        // given
+        var program = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", '#', "B", 'a', "P"),
+                new Transition("B", '#', "B", '#', "P"),
+                new Transition("B", 'a', "B", 'a', "P")));
+        var sweeper = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", '#', "A", 'a', "P")));
+        var sparse = new Machine(program, Engine.TABLE, Tape.PAGED);
+        var dense = new Machine(sweeper, Engine.TABLE, Tape.PAGED);
+
+        // when
+        sparse.init("");
+        dense.init("");
+        var sparseRun = sparse.run(Limits.NONE.withMaxSteps(1_000_000).withMaxTapeSize(4 * PagedBand.PAGE_SIZE));
+        var denseRun = dense.run(Limits.NONE.withMaxSteps(1_000_000).withMaxTapeSize(4 * PagedBand.PAGE_SIZE));
+
+        // then
+        assertEquals(new Run(Outcome.STEP_LIMIT, 1_000_000), sparseRun);
+        assertEquals(Outcome.OUT_OF_TAPE, denseRun.outcome());
+        assertEquals(4 * PagedBand.PAGE_SIZE, denseRun.steps());
+    }
+
+    @Test
+    void shouldStopAtEndOfAddressableTape() {
+        // given
+        var program = Program.compile("A", Set.of(), Set.of(
+                new Transition("A", '#', "A", '#', "L")));
+        var machine = new Machine(program, Engine.TABLE, Tape.PAGED);
+        machine.init("");
+        var band = (PagedBand) machine.band();
+        band.moveTo(Integer.MIN_VALUE + 3);
+
+        // when
+        var run = machine.run(Limits.NONE);
+
+        // then
+        assertEquals(new Run(Outcome.OUT_OF_TAPE, 3), run);
+        assertEquals(Integer.MIN_VALUE, band.position());
+        assertThrows(IllegalStateException.class, () -> band.write(Band.EMPTY_SYMBOL, Band.MOVE_LEFT));
+        assertEquals(Integer.MIN_VALUE, band.position());
+    }
+}
@@ -0,0 +1,119 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ParserTest {
+    private static final String[] INPUTS = {
+            "/przykladowy_input.txt",
+            "/rozszerzanie_tasmy_z_lewej_dodaje_b_na_poczatku_slowa.txt",
+            "/blad_po_pierwszym_przejsciu.txt",
+            "/kopia_lustrzana_krotka.txt",
+            "/kopia_lustrzana_rozszerzanie_tasmy.txt"
+    };
+
+    @Test
+    void shouldCompileLikeSettingsParser() throws Exception {
+        for (var input : INPUTS) {
+            // given
+            var path = Path.of(getClass().getResource(input).toURI());
+            var settings = Settings.parse(path, UTF_8);
+
+            // when
+            var parsed = Parser.parse(path, UTF_8);
+
+            // then
+            assertEquals(Program.compile(settings).hash(), parsed.program().hash(), input);
+            assertEquals(settings.word(), parsed.settings().word(), input);
+            assertEquals(settings.states(), parsed.settings().states(), input);
+            assertEquals(settings.bandAlphabet(), parsed.settings().bandAlphabet(), input);
+            assertEquals(settings.transitions(), parsed.settings().transitions(), input);
+        }
+    }
+
+    @Test
+    void shouldParseLargeInputInParallelChunks() {
+        // given
+        var input = generate(200_000);
+
+        // when
+        var parsed = Parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)), UTF_8);
+
+        // then
+        var settings = Settings.parse(new ByteArrayInputStream(input.getBytes(UTF_8)), UTF_8);
+        assertEquals(200_000, parsed.settings().transitions().size());
+        assertEquals(Program.compile(settings).hash(), parsed.program().hash());
+    }
+
+    @Test
+    void shouldReportLineAndColumnOfError() {
+        // given
+        var input = generate(200_000).replace("q50000 b q50001 b", "q50000 b q50001 c");
+
+        // when
+        var error = assertThrows(IllegalStateException.class,
+                () -> Parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)), UTF_8));
+
+        // then
+        assertEquals("Line 150015, column 17: Character \"c\" not present in band alphabet", error.getMessage());
+    }
+
+    @Test
+    void shouldReportInvalidHeader() {
+        // given
+        var input = "alfabet tasmowy:\nab#\nalfabet:\n";
+
+        // when
+        var error = assertThrows(IllegalStateException.class,
+                () -> Parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)), UTF_8));
+
+        // then
+        assertEquals("Line 3, column 1: Expected header \"alfabet wejsciowy:\" but was \"alfabet:\"", error.getMessage());
+    }
+
+    @Test
+    void shouldReportTooManySymbolsAtAlphabetLine() {
+        // given
+        var alphabet = IntStream.range(0, Band.MAX_SYMBOLS)
+                .mapToObj(i -> String.valueOf((char) ('\u0100' + i)))
+                .collect(Collectors.joining());
+        var input = "alfabet tasmowy:\n" + alphabet + "\nalfabet wejsciowy:\n\n";
+
+        // when
+        var error = assertThrows(IllegalStateException.class,
+                () -> Parser.parse(ByteBuffer.wrap(input.getBytes(UTF_8)), UTF_8));
+
+        // then
+        assertEquals("Line 2, column 1: Too many symbols: 257. Max: 256", error.getMessage());
+    }
+
+    private static String generate(int transitions) {
+        var symbols = "ab#";
+        int states = transitions / symbols.length() + 2;
+        var sb = new StringBuilder()
+                .append("alfabet tasmowy:\n").append(symbols).append('\n')
+                .append("alfabet wejsciowy:\nab\n")
+                .append("slowo wejsciowe:\nab\n")
+                .append("stany:\n")
+                .append(IntStream.range(0, states).mapToObj(i -> "q" + i).collect(Collectors.joining(" ")))
+                .append("\nstan poczatkowy:\nq0\n")
+                .append("stany akceptujace:\nq").append(states - 1).append('\n')
+                .append("relacja przejscia:\n");
+        for (int i = 0; i < transitions; i++) {
+            int state = i / symbols.length();
+            char symbol = symbols.charAt(i % symbols.length());
+            sb.append('q').append(state).append(' ').append(symbol).append(" q").append(state + 1).append(' ')
+                    .append(symbol).append(i % 2 == 0 ? " P" : " L").append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,67 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfileTest {
+    private static final String INPUT = "/kopia_lustrzana_rozszerzanie_tasmy.txt";
+
+    @Test
+    void shouldCountTransitionsAndStateVisits() {
+        // given
+        var settings = Settings.parse(getClass().getResourceAsStream(INPUT), UTF_8);
+        var program = Program.compile(settings);
+        var profile = new Profile(program);
+        var machine = profile.machine(Tape.ARRAY);
+        var plain = new Machine(program);
+
+        // when
+        machine.init(settings.word());
+        plain.init(settings.word());
+        var run = machine.run(Limits.NONE);
+        var plainRun = plain.run(Limits.NONE);
+
+        // then
+        assertEquals(plainRun, run);
+        assertEquals(run.steps(), profile.steps());
+        var hot = profile.hot(Integer.MAX_VALUE);
+        assertEquals(run.steps(), hot.stream().mapToLong(Profile.Hot::count).sum());
+        for (int i = 1; i < hot.size(); i++) {
+            assertTrue(hot.get(i - 1).count() >= hot.get(i).count());
+        }
+        assertEquals(run.steps() + 1, Arrays.stream(profile.stateVisits()).sum());
+        assertEquals(run.steps(), profile.histogram(Profile.HISTOGRAM_ROWS).stream()
+                .mapToLong(Profile.Bucket::count).sum());
+    }
+
+    @Test
+    void shouldFoldHistogramOfWideRuns() {
+        // given
+        var program = Program.compile("A", Set.of(), List.of(
+                new Transition("A", '#', "A", '1', "P"),
+                new Transition("A", '1', "A", '1', "P")));
+        var profile = new Profile(program);
+        var machine = profile.machine(Tape.PAGED);
+
+        // when
+        machine.init("");
+        var run = machine.run(Limits.NONE.withMaxSteps(1_000_000));
+
+        // then
+        assertEquals(Outcome.STEP_LIMIT, run.outcome());
+        var histogram = profile.histogram(Profile.HISTOGRAM_ROWS);
+        assertTrue(histogram.size() <= Profile.HISTOGRAM_ROWS);
+        assertEquals(1_000_000, histogram.stream().mapToLong(Profile.Bucket::count).sum());
+        assertTrue(histogram.getLast().to() >= 1_000_000);
+        var spans = profile.spans();
+        assertTrue(spans.size() <= Profile.MAX_SAMPLES + 1);
+        assertEquals(new Profile.Sample(1_000_000, 1_000_000), spans.getLast());
+    }
+}
@@ -0,0 +1,99 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SearchTest {
+    private static final Set<Transition> DOUBLE_B = Set.of(
+            new Transition("q0", 'a', "q0", 'a', "P"),
+            new Transition("q0", 'b', "q0", 'b', "P"),
+            new Transition("q0", 'b', "q1", 'b', "P"),
+            new Transition("q1", 'b', "H", 'c', "P")
+    );
+    private static final Set<Transition> GUESSING = Set.of(
+            new Transition("q0", '#', "q0", 'a', "P"),
+            new Transition("q0", '#', "q0", 'b', "P")
+    );
+
+    @Test
+    void shouldFindShortestAcceptingPath() {
+        // given
+        var settings = settings("abbab", DOUBLE_B);
+        var search = new Search(settings, 4, Search.DEFAULT_MAX_MEMORY);
+
+        // when
+        var result = search.run(settings.word(), Limits.NONE);
+
+        // then
+        assertThrows(IllegalStateException.class, settings::validate);
+        settings.validate(false);
+        assertEquals(Outcome.ACCEPTED, result.outcome());
+        assertEquals(3, result.depth());
+        assertEquals("abcab", result.word());
+        assertEquals(List.of(
+                new Transition("q0", 'a', "q0", 'a', "P"),
+                new Transition("q0", 'b', "q1", 'b', "P"),
+                new Transition("q1", 'b', "H", 'c', "P")
+        ), result.path());
+    }
+
+    @Test
+    void shouldRejectWhenEveryBranchHalts() {
+        // given
+        var settings = settings("ababa", DOUBLE_B);
+        var search = new Search(settings, 4, Search.DEFAULT_MAX_MEMORY);
+
+        // when
+        var result = search.run(settings.word(), Limits.NONE);
+
+        // then
+        assertEquals(Outcome.REJECTED, result.outcome());
+        assertEquals(List.of(), result.path());
+        assertTrue(result.configurations() > settings.word().length());
+    }
+
+    @Test
+    void shouldStopAtDepthAndMemoryBounds() {
+        // given
+        var settings = settings("", GUESSING);
+        var search = new Search(settings, 4, 1 << 16);
+
+        // when
+        var bounded = search.run(settings.word(), Limits.NONE.withMaxSteps(6));
+        var exhausted = search.run(settings.word(), Limits.NONE);
+
+        // then
+        assertEquals(Outcome.STEP_LIMIT, bounded.outcome());
+        assertEquals(6, bounded.depth());
+        assertEquals((1 << 7) - 1, bounded.configurations());
+        assertEquals(Outcome.OUT_OF_MEMORY, exhausted.outcome());
+        assertTrue(exhausted.configurations() <= (1 << 16) / 64);
+    }
+
+    @Test
+    void shouldStopWithinLevelWhenTimeoutExpires() {
+        // given
+        var settings = settings("", GUESSING);
+        var search = new Search(settings, 4, Long.MAX_VALUE);
+        long begin = System.nanoTime();
+
+        // when
+        var result = search.run(settings.word(), Limits.NONE.withTimeout(Duration.ofMillis(100)));
+
+        // then
+        assertEquals(Outcome.TIMEOUT, result.outcome());
+        assertTrue(System.nanoTime() - begin < Duration.ofSeconds(5).toNanos());
+    }
+
+    private static Settings settings(String word, Set<Transition> transitions) {
+        return new Settings(Set.of('a', 'b', 'c', '#'), Set.of('a', 'b'), word, Set.of("q0", "q1", "H"), "q0",
+                Set.of("H"), transitions);
+    }
+}
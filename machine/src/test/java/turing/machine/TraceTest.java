@@ -0,0 +1,94 @@
+package turing.machine;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TraceTest {
+    private static final Program COUNTER = Program.compile("R", Set.of(), Set.of(
+            new Transition("R", '0', "R", '0', "P"),
+            new Transition("R", '1', "R", '1', "P"),
+            new Transition("R", '#', "I", '#', "L"),
+            new Transition("I", '1', "I", '0', "L"),
+            new Transition("I", '0', "R", '1', "P"),
+            new Transition("I", '#', "R", '1', "P")));
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReconstructMachineAtAnyStep() {
+        // given
+        var path = dir.resolve("counter.trace");
+        Run run;
+        try (var recorder = Trace.recorder(COUNTER, path, 1000)) {
+            run = recorder.record("0", Limits.NONE.withMaxSteps(1_000_003));
+        }
+
+        // when
+        var trace = Trace.open(path);
+
+        // then
+        assertEquals(new Run(Outcome.STEP_LIMIT, 1_000_003), run);
+        assertEquals(1_000_003, trace.steps());
+        assertEquals(Outcome.STEP_LIMIT, trace.outcome());
+        assertEquals("0", trace.word());
+        assertTrue(Files.exists(path));
+        for (long step : new long[]{0, 1, 999, 1000, 1001, 123_456, 1_000_003}) {
+            var expected = new Machine(COUNTER);
+            expected.init("0");
+            expected.run(step);
+            var machine = trace.machine(step);
+            assertEquals(expected.state(), machine.state(), "step " + step);
+            assertEquals(expected.band().currentWord(), machine.band().currentWord(), "step " + step);
+            assertEquals(expected.band().position(), machine.band().position(), "step " + step);
+        }
+    }
+
+    @Test
+    void shouldRenderIterationsInRange() {
+        // given
+        var path = dir.resolve("counter.trace");
+        try (var recorder = Trace.recorder(COUNTER, path, 16)) {
+            recorder.record("0", Limits.NONE.withMaxSteps(100));
+        }
+        var lines = new ArrayList<String>();
+
+        // when
+        Trace.open(path).render(40, 50, new Log(lines::add));
+
+        // then
+        assertEquals(10, lines.stream().filter(line -> line.startsWith("Iteration: ")).count());
+        assertTrue(lines.getFirst().startsWith("Iteration: 41"));
+        assertThrows(IllegalStateException.class, () -> Trace.open(path).machine(101));
+    }
+
+    @Test
+    void shouldRejectUnknownOutcome() throws Exception {
+        // given
+        var path = dir.resolve("counter.trace");
+        try (var recorder = Trace.recorder(COUNTER, path, 16)) {
+            recorder.record("0", Limits.NONE.withMaxSteps(100));
+        }
+        var bytes = Files.readAllBytes(path);
+        var buffer = ByteBuffer.wrap(bytes);
+        int footer = (int) buffer.getLong(bytes.length - Long.BYTES);
+        buffer.put(footer + 1 + Long.BYTES + Integer.BYTES, (byte) 'X');
+        Files.write(path, bytes);
+
+        // when
+        var error = assertThrows(IllegalStateException.class, () -> Trace.open(path));
+
+        // then
+        assertEquals("Damaged trace: " + path, error.getMessage());
+    }
+}